@@ -0,0 +1,72 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.dto.ResultadoBusqueda;
+import com.backend.servicio.usuarios.models.entity.IdentificadorOrdenado;
+import com.backend.servicio.usuarios.search.IndiceBusquedaUsuarios;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de IndiceBusquedaUsuarios con un millón de usuarios sintéticos, para consultas selectivas
+ * (prefijo de correo), de varias palabras y con error de tipeo. Al construir el índice imprime la memoria
+ * estimada por el propio índice y la medida en el heap antes y después de cargarlo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BusquedaUsuariosBenchmark {
+
+    private static final String[] NOMBRES = {"Juan", "María", "José", "Ana", "Luis", "Carmen", "Pedro", "Lucía",
+            "Jorge", "Sofía", "Diego", "Valentina", "Andrés", "Camila", "Felipe", "Isabel"};
+    private static final String[] APELLIDOS = {"González", "Rodríguez", "Pérez", "Fernández", "López", "Martínez",
+            "Sánchez", "Gómez", "Díaz", "Torres", "Ramírez", "Flores", "Rojas", "Muñoz", "Castro", "Vargas"};
+    private static final String[] DOMINIOS = {"ejemplo.com", "correo.cl", "empresa.org", "mail.net"};
+
+    @Param({"1000000"})
+    private int usuarios;
+
+    @Param({"maria.lopez4242", "castro vargas", "gonzales 77", "jorge"})
+    private String consulta;
+
+    private IndiceBusquedaUsuarios indice;
+
+    @Setup(Level.Trial)
+    public void construir() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long antes = memoria.getHeapMemoryUsage().getUsed();
+
+        indice = new IndiceBusquedaUsuarios();
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        for (int i = 0; i < usuarios; i++) {
+            String nombre = NOMBRES[aleatorio.nextInt(NOMBRES.length)];
+            String apellido = APELLIDOS[aleatorio.nextInt(APELLIDOS.length)];
+            String segundoApellido = APELLIDOS[aleatorio.nextInt(APELLIDOS.length)];
+            String correo = sinTildes(nombre + "." + apellido).toLowerCase() + i + "@" + DOMINIOS[i % DOMINIOS.length];
+            indice.indexarAhora(IdentificadorOrdenado.nuevo(), nombre + " " + apellido + " " + segundoApellido, correo);
+        }
+
+        System.gc();
+        long despues = memoria.getHeapMemoryUsage().getUsed();
+        System.out.printf("%nÍndice con %d usuarios y %d términos: %d MB estimados, %d MB medidos en el heap%n",
+                indice.getDocumentos(), indice.getTerminos(),
+                indice.memoriaEstimadaEnBytes() / (1024 * 1024), (despues - antes) / (1024 * 1024));
+    }
+
+    @Benchmark
+    public List<ResultadoBusqueda> buscar() {
+        return indice.buscar(consulta, 10);
+    }
+
+    private static String sinTildes(String texto) {
+        return java.text.Normalizer.normalize(texto, java.text.Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+    }
+}
@@ -0,0 +1,37 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.ServicioUsuariosApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Levanta el servicio sin servidor web contra una base H2 en memoria creada con schema.sql.
+ */
+final class ContextoH2 {
+
+    private ContextoH2() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String nombreBase, String... propiedadesAdicionales) {
+        String[] propiedades = {
+                "--spring.datasource.url=jdbc:h2:mem:" + nombreBase + ";DB_CLOSE_DELAY=-1",
+                "--spring.sql.init.mode=always",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.eclipselink.logging.level=SEVERE",
+                "--spring.jpa.properties.eclipselink.logging.level.sql=OFF",
+                "--spring.jpa.properties.eclipselink.logging.sql=OFF",
+                "--logging.level.root=WARN",
+                "--logging.level.org.eclipse.persistence=WARN",
+                "--logging.level.org.springframework.jdbc.core.JdbcTemplate=WARN"
+        };
+        String[] argumentos = new String[propiedades.length + propiedadesAdicionales.length];
+        System.arraycopy(propiedades, 0, argumentos, 0, propiedades.length);
+        System.arraycopy(propiedadesAdicionales, 0, argumentos, propiedades.length, propiedadesAdicionales.length);
+
+        // Se pasan como argumentos para que tengan prioridad sobre application.properties
+        return new SpringApplicationBuilder(ServicioUsuariosApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos);
+    }
+}
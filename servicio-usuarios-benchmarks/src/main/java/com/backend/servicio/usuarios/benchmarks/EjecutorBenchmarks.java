@@ -0,0 +1,27 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ejecuta los benchmarks con las opciones de línea de comandos de JMH y, si no se indica otra cosa,
+ * guarda los resultados en JSON en target/jmh-resultados.json para comparar entre versiones.
+ */
+public final class EjecutorBenchmarks {
+
+    private EjecutorBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions lineaDeComandos = new CommandLineOptions(args);
+        Options opciones = new OptionsBuilder()
+                .parent(lineaDeComandos)
+                .resultFormat(lineaDeComandos.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(lineaDeComandos.getResult().orElse("target/jmh-resultados.json"))
+                .build();
+        new Runner(opciones).run();
+    }
+}
@@ -0,0 +1,49 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.dto.UsuarioResponse;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.services.UsuarioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mide UsuarioService.save de punta a punta (validación, JWT y persistencia) contra H2 en memoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GuardarUsuarioBenchmark {
+
+    private final AtomicLong secuencia = new AtomicLong();
+    private ConfigurableApplicationContext contexto;
+    private UsuarioService usuarioService;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoH2.iniciar("benchmark-guardar");
+        usuarioService = contexto.getBean(UsuarioService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public UsuarioResponse guardarUsuario() throws Exception {
+        long numero = secuencia.incrementAndGet();
+        List<Telefono> telefonos = new ArrayList<>();
+        telefonos.add(new Telefono("123456789", "1", "57"));
+        Usuario usuario = new Usuario("Usuario " + numero, "usuario" + numero + "@ejemplo.com", "Password123", telefonos);
+        return usuarioService.save(usuario);
+    }
+}
@@ -0,0 +1,99 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.models.entity.IdentificadorOrdenado;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el throughput de inserción con ids UUID aleatorios en VARCHAR(36) (esquema anterior)
+ * contra ids UUIDv7 ordenados en columnas UUID nativas. Cada operación inserta un lote de usuarios
+ * con un teléfono cada uno; las tablas crecen durante toda la prueba, que es donde los ids aleatorios
+ * reparten las inserciones por todo el índice primario y el de la clave foránea.
+ * Al terminar imprime el espacio en disco de cada tabla según H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsercionIdsBenchmark {
+
+    private static final int TAMANO_LOTE = 1000;
+
+    @Param({"VARCHAR_ALEATORIO", "UUID_ORDENADO"})
+    private String esquema;
+
+    private Connection conexion;
+    private PreparedStatement insertarUsuario;
+    private PreparedStatement insertarTelefono;
+    private long secuencia;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws SQLException {
+        conexion = DriverManager.getConnection("jdbc:h2:mem:ids_" + esquema, "sa", "");
+        conexion.setAutoCommit(false);
+        String tipoId = esquema.equals("UUID_ORDENADO") ? "UUID" : "VARCHAR(36)";
+        try (Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("CREATE TABLE usuarios (id " + tipoId + " PRIMARY KEY, nombre VARCHAR(255) NOT NULL, "
+                    + "correo VARCHAR(255) NOT NULL UNIQUE, contrasena VARCHAR(255) NOT NULL, creado TIMESTAMP NOT NULL)");
+            sentencia.execute("CREATE TABLE telefonos (id " + tipoId + " PRIMARY KEY, numero VARCHAR(255) NOT NULL, "
+                    + "usuario_id " + tipoId + " NOT NULL, FOREIGN KEY (usuario_id) REFERENCES usuarios(id))");
+            sentencia.execute("CREATE INDEX idx_telefonos_usuario_id ON telefonos(usuario_id)");
+        }
+        conexion.commit();
+        insertarUsuario = conexion.prepareStatement(
+                "INSERT INTO usuarios (id, nombre, correo, contrasena, creado) VALUES (?, ?, ?, ?, ?)");
+        insertarTelefono = conexion.prepareStatement("INSERT INTO telefonos (id, numero, usuario_id) VALUES (?, ?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() throws SQLException {
+        try (Statement sentencia = conexion.createStatement()) {
+            System.out.println();
+            for (String tabla : new String[]{"USUARIOS", "TELEFONOS"}) {
+                try (ResultSet resultado = sentencia.executeQuery("CALL DISK_SPACE_USED('" + tabla + "')")) {
+                    resultado.next();
+                    System.out.printf("%s %s: %d filas, %d bytes%n", esquema, tabla, secuencia, resultado.getLong(1));
+                }
+            }
+        }
+        conexion.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_LOTE)
+    public void insertarLote() throws SQLException {
+        Timestamp ahora = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            long numero = secuencia++;
+            Object idUsuario = nuevoId();
+            insertarUsuario.setObject(1, idUsuario);
+            insertarUsuario.setString(2, "Usuario " + numero);
+            insertarUsuario.setString(3, "usuario" + numero + "@ejemplo.com");
+            insertarUsuario.setString(4, "Password123");
+            insertarUsuario.setTimestamp(5, ahora);
+            insertarUsuario.addBatch();
+            insertarTelefono.setObject(1, nuevoId());
+            insertarTelefono.setString(2, "123456789");
+            insertarTelefono.setObject(3, idUsuario);
+            insertarTelefono.addBatch();
+        }
+        insertarUsuario.executeBatch();
+        insertarTelefono.executeBatch();
+        conexion.commit();
+    }
+
+    private Object nuevoId() {
+        return esquema.equals("UUID_ORDENADO") ? IdentificadorOrdenado.nuevoUuid() : UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.jwt.JwtAuthenticationFilter;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtAuthenticationFilter filtro;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        filtro = new JwtAuthenticationFilter(10_000);
+        token = JwtAuthenticationFilter.generateToken("benchmark@ejemplo.com");
+    }
+
+    @Benchmark
+    public String generarToken() {
+        return JwtAuthenticationFilter.generateToken("benchmark@ejemplo.com");
+    }
+
+    @Benchmark
+    public Claims verificarToken() {
+        return JwtAuthenticationFilter.verificarToken(token);
+    }
+
+    @Benchmark
+    public String autenticarConCache() {
+        return filtro.autenticar(token);
+    }
+}
@@ -0,0 +1,83 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import com.backend.servicio.usuarios.services.UsuarioConsultas;
+import com.backend.servicio.usuarios.services.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la lectura con entidades contra la lectura por proyecciones (UsuarioConsultas), sin la cache.
+ * Para ver los bytes reservados por petición (gc.alloc.rate.norm): -Djmh.args="LecturaUsuarioBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LecturaUsuarioBenchmark {
+
+    private static final int CANTIDAD_USUARIOS = 200;
+    private static final int TAMANO_PAGINA = 20;
+
+    private ConfigurableApplicationContext contexto;
+    private UsuarioRepository usuarioRepository;
+    private UsuarioConsultas usuarioConsultas;
+    private ObjectMapper objectMapper;
+    private String id;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        contexto = ContextoH2.iniciar("benchmark-lectura");
+        usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        usuarioConsultas = contexto.getBean(UsuarioConsultas.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+
+        UsuarioService usuarioService = contexto.getBean(UsuarioService.class);
+        for (int i = 0; i < CANTIDAD_USUARIOS; i++) {
+            List<Telefono> telefonos = new ArrayList<>();
+            telefonos.add(new Telefono("123456789", "1", "57"));
+            telefonos.add(new Telefono("987654321", "2", "57"));
+            id = usuarioService.save(new Usuario("Usuario " + i, "lectura" + i + "@ejemplo.com", "Password123", telefonos)).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] porIdConEntidad() throws Exception {
+        // Los teléfonos se cargan al serializar, con la consulta IN de @BatchFetch
+        Usuario usuario = usuarioRepository.findVigenteById(id).orElseThrow();
+        return objectMapper.writeValueAsBytes(usuario);
+    }
+
+    @Benchmark
+    public byte[] porIdConProyeccion() throws Exception {
+        return objectMapper.writeValueAsBytes(usuarioConsultas.buscarPorId(id));
+    }
+
+    @Benchmark
+    public byte[] paginaConEntidades() throws Exception {
+        return objectMapper.writeValueAsBytes(
+                usuarioRepository.findAll(PageRequest.of(0, TAMANO_PAGINA, Sort.by("id"))).getContent());
+    }
+
+    @Benchmark
+    public byte[] paginaConProyecciones() throws Exception {
+        return objectMapper.writeValueAsBytes(usuarioConsultas.listar(null, Limit.of(TAMANO_PAGINA)));
+    }
+}
@@ -0,0 +1,160 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.ServicioUsuariosApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.tools.Server;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de carga que compara el modo de hilos de plataforma con el perfil "virtual".
+ * Levanta el servicio contra un servidor H2 TCP local (solo loopback) para que cada consulta
+ * pague un viaje de red como en producción, y mide throughput y latencias p50/p99 del listado paginado.
+ *
+ * mvn -pl servicio-usuarios-benchmarks exec:exec -Dbenchmark.main=com.backend.servicio.usuarios.benchmarks.PruebaCargaHilosVirtuales
+ * Propiedades: -Dcarga.concurrencia (200), -Dcarga.peticiones (20000), -Dcarga.calentamiento (2000)
+ */
+public final class PruebaCargaHilosVirtuales {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private PruebaCargaHilosVirtuales() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrencia = Integer.getInteger("carga.concurrencia", 200);
+        int peticiones = Integer.getInteger("carga.peticiones", 20000);
+        int calentamiento = Integer.getInteger("carga.calentamiento", 2000);
+
+        int puertoH2 = puertoLibre();
+        Server h2 = Server.createTcpServer("-tcpPort", String.valueOf(puertoH2), "-ifNotExists").start();
+        try {
+            Resultado plataforma = ejecutar("plataforma", puertoH2, concurrencia, peticiones, calentamiento);
+            System.out.println(plataforma);
+            if (Runtime.version().feature() >= 21) {
+                Resultado virtual = ejecutar("virtual", puertoH2, concurrencia, peticiones, calentamiento);
+                System.out.println(virtual);
+                System.out.printf("Throughput virtual/plataforma: %.2fx, p99 virtual/plataforma: %.2fx%n",
+                        virtual.throughput() / plataforma.throughput(), virtual.p99Ms() / plataforma.p99Ms());
+            } else {
+                System.out.println("El modo virtual requiere Java 21 o superior; se omite la comparación.");
+            }
+        } finally {
+            h2.stop();
+        }
+    }
+
+    private static Resultado ejecutar(String modo, int puertoH2, int concurrencia, int peticiones, int calentamiento) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ServicioUsuariosApplication.class)
+                .web(WebApplicationType.SERVLET);
+        if (modo.equals("virtual")) {
+            builder.profiles("virtual");
+        }
+        try (ConfigurableApplicationContext contexto = builder.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:tcp://localhost:" + puertoH2 + "/mem:carga-" + modo + ";DB_CLOSE_DELAY=-1",
+                "--spring.sql.init.mode=always",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.eclipselink.logging.level=SEVERE",
+                "--spring.jpa.properties.eclipselink.logging.level.sql=OFF",
+                "--spring.jpa.properties.eclipselink.logging.sql=OFF",
+                "--logging.level.root=WARN",
+                "--logging.level.org.eclipse.persistence=WARN",
+                "--logging.level.org.springframework.jdbc.core.JdbcTemplate=WARN")) {
+
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/api/usuarios";
+            HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String token = sembrarUsuarios(cliente, base, 50);
+            HttpRequest listado = HttpRequest.newBuilder(URI.create(base + "?tamano=20"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+
+            medir(cliente, listado, concurrencia, calentamiento);
+            long inicio = System.nanoTime();
+            long[] latencias = medir(cliente, listado, concurrencia, peticiones);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            Arrays.sort(latencias);
+            return new Resultado(modo, peticiones / segundos, percentilMs(latencias, 0.50), percentilMs(latencias, 0.99));
+        }
+    }
+
+    private static String sembrarUsuarios(HttpClient cliente, String base, int cantidad) throws Exception {
+        String token = null;
+        for (int i = 0; i < cantidad; i++) {
+            String cuerpo = "{\"nombre\":\"Usuario " + i + "\",\"correo\":\"carga" + i + "@ejemplo.com\",\"contrasena\":\"Password123\","
+                    + "\"telefonos\":[{\"numero\":\"123456789\",\"codigoCiudad\":\"1\",\"codigoPais\":\"57\"}]}";
+            HttpResponse<String> respuesta = cliente.send(HttpRequest.newBuilder(URI.create(base))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() != 201) {
+                throw new IllegalStateException("No se pudo crear el usuario de prueba: " + respuesta.body());
+            }
+            token = JSON.readTree(respuesta.body()).get("token").asText();
+        }
+        return token;
+    }
+
+    // Carga de lazo cerrado: cada hilo cliente envía la siguiente petición al recibir la respuesta anterior
+    private static long[] medir(HttpClient cliente, HttpRequest peticion, int concurrencia, int total) throws Exception {
+        long[] latencias = new long[total];
+        AtomicInteger siguiente = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+        ExecutorService clientes = Executors.newFixedThreadPool(concurrencia);
+        for (int c = 0; c < concurrencia; c++) {
+            clientes.execute(() -> {
+                int i;
+                while ((i = siguiente.getAndIncrement()) < total) {
+                    long inicio = System.nanoTime();
+                    try {
+                        HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                        if (respuesta.statusCode() != 200) {
+                            errores.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errores.incrementAndGet();
+                    }
+                    latencias[i] = System.nanoTime() - inicio;
+                }
+            });
+        }
+        clientes.shutdown();
+        clientes.awaitTermination(30, TimeUnit.MINUTES);
+        if (errores.get() > 0) {
+            System.out.println("Peticiones con error: " + errores.get());
+        }
+        return latencias;
+    }
+
+    private static double percentilMs(long[] ordenadas, double percentil) {
+        int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+
+    private static int puertoLibre() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Resultado(String modo, double throughput, double p50Ms, double p99Ms) {
+        @Override
+        public String toString() {
+            return String.format("%-10s throughput=%.0f req/s p50=%.2f ms p99=%.2f ms", modo, throughput, p50Ms, p99Ms);
+        }
+    }
+}
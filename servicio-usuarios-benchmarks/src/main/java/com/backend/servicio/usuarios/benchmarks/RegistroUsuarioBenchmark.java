@@ -0,0 +1,110 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.exceptions.CorreoRegistradoException;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import com.backend.servicio.usuarios.services.UsuarioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput del registro de usuarios con 4 hilos, con y sin correos repetidos:
+ * consulta previa (existsByCorreo y luego INSERT, el camino anterior) contra un solo INSERT que deja a la
+ * restricción UNIQUE detectar el duplicado, y el UsuarioService.save actual de punta a punta.
+ * -Djmh.args="RegistroUsuarioBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RegistroUsuarioBenchmark {
+
+    private static final String CORREO_EXISTENTE = "registrado@ejemplo.com";
+
+    @Param({"0", "20"})
+    public int porcentajeDuplicados;
+
+    private final AtomicLong secuencia = new AtomicLong();
+    private ConfigurableApplicationContext contexto;
+    private UsuarioRepository usuarioRepository;
+    private UsuarioService usuarioService;
+    private TransactionTemplate transaccion;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        contexto = ContextoH2.iniciar("benchmark-registro-" + porcentajeDuplicados);
+        usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        usuarioService = contexto.getBean(UsuarioService.class);
+        transaccion = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        usuarioService.save(nuevoUsuario(CORREO_EXISTENTE));
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public boolean consultaPrevia() {
+        Usuario usuario = nuevoUsuario(siguienteCorreo());
+        try {
+            return transaccion.execute(estado -> {
+                if (usuarioRepository.existsByCorreo(usuario.getCorreo())) {
+                    return false;
+                }
+                usuarioRepository.saveAndFlush(usuario);
+                return true;
+            });
+        } catch (RuntimeException e) {
+            // Dos hilos con el mismo correo pasaron la consulta: la restricción rechaza al segundo igual
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean restriccionUnica() {
+        Usuario usuario = nuevoUsuario(siguienteCorreo());
+        try {
+            return transaccion.execute(estado -> {
+                usuarioRepository.saveAndFlush(usuario);
+                return true;
+            });
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean servicio() throws Exception {
+        try {
+            return usuarioService.save(nuevoUsuario(siguienteCorreo())) != null;
+        } catch (CorreoRegistradoException e) {
+            return false;
+        }
+    }
+
+    private String siguienteCorreo() {
+        if (ThreadLocalRandom.current().nextInt(100) < porcentajeDuplicados) {
+            return CORREO_EXISTENTE;
+        }
+        return "registro" + secuencia.incrementAndGet() + "@ejemplo.com";
+    }
+
+    private static Usuario nuevoUsuario(String correo) {
+        List<Telefono> telefonos = new ArrayList<>();
+        telefonos.add(new Telefono("123456789", "1", "57"));
+        return new Usuario("Usuario registro", correo, "Password123", telefonos);
+    }
+}
@@ -0,0 +1,58 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.dto.UsuarioMapper;
+import com.backend.servicio.usuarios.dto.UsuarioResponse;
+import com.backend.servicio.usuarios.jwt.JwtAuthenticationFilter;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    private Usuario usuario;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void preparar() {
+        // Misma configuración de fechas que aplica Spring Boot al ObjectMapper
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        List<Telefono> telefonos = new ArrayList<>();
+        telefonos.add(new Telefono("123456789", "1", "57"));
+        telefonos.add(new Telefono("987654321", "2", "57"));
+        telefonos.add(new Telefono("555000111", "9", "56"));
+
+        usuario = new Usuario("Juan Pérez", "juan@ejemplo.com", "Password123", telefonos);
+        LocalDateTime ahora = LocalDateTime.now();
+        usuario.setCreado(ahora);
+        usuario.setModificado(ahora);
+        usuario.setUltimoLogin(ahora);
+        usuario.setToken(JwtAuthenticationFilter.generateToken(usuario.getCorreo()));
+    }
+
+    @Benchmark
+    public UsuarioResponse mapearUsuarioResponse() {
+        return UsuarioMapper.toUsuarioResponse(usuario);
+    }
+
+    @Benchmark
+    public byte[] serializarUsuarioConTelefonos() throws Exception {
+        return objectMapper.writeValueAsBytes(usuario);
+    }
+}
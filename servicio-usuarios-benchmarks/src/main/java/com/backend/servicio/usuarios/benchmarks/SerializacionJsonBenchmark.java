@@ -0,0 +1,76 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.cache.RespuestaJsonCache;
+import com.backend.servicio.usuarios.dto.TelefonoVista;
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la respuesta del GET por id serializada con Jackson por reflexión, con el módulo Blackbird
+ * y servida desde RespuestaJsonCache. El contador auxiliar "bytes" reporta los bytes de JSON por segundo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionJsonBenchmark {
+
+    @Param({"REFLEXION", "BLACKBIRD", "CACHE_BYTES"})
+    private String configuracion;
+
+    private UsuarioVista usuario;
+    private ObjectWriter writer;
+    private RespuestaJsonCache respuestaJsonCache;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        // Misma configuración de fechas que aplica Spring Boot al ObjectMapper
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (!configuracion.equals("REFLEXION")) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+        writer = objectMapper.writerFor(UsuarioVista.class);
+        respuestaJsonCache = new RespuestaJsonCache(objectMapper, 16 * 1024 * 1024);
+
+        LocalDateTime ahora = LocalDateTime.now();
+        String id = "018f3a2b-7c4d-7e5f-8a6b-9c0d1e2f3a4b";
+        usuario = new UsuarioVista(id, "Juan Pérez", "juan@ejemplo.com",
+                List.of(new TelefonoVista(id, "018f3a2b-7c4d-7e5f-8a6b-9c0d1e2f3a4c", "123456789", "1", "57"),
+                        new TelefonoVista(id, "018f3a2b-7c4d-7e5f-8a6b-9c0d1e2f3a4d", "987654321", "2", "57"),
+                        new TelefonoVista(id, "018f3a2b-7c4d-7e5f-8a6b-9c0d1e2f3a4e", "555000111", "9", "56")),
+                ahora, ahora, ahora, true, 1L);
+    }
+
+    @Benchmark
+    public byte[] serializarUsuario(Bytes contador) throws Exception {
+        byte[] json = configuracion.equals("CACHE_BYTES")
+                ? respuestaJsonCache.serializar(usuario).json()
+                : writer.writeValueAsBytes(usuario);
+        contador.bytes += json.length;
+        return json;
+    }
+}
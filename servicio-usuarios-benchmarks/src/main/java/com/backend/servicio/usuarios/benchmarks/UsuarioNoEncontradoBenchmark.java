@@ -0,0 +1,89 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.exceptions.UsuarioNoEncontradoException;
+import com.backend.servicio.usuarios.models.entity.IdentificadorOrdenado;
+import com.backend.servicio.usuarios.services.UsuarioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del camino de un id inexistente, como en un recorrido de ids por scraping.
+ * Los benchmarks "excepcion*" aíslan el costo de señalar el fallo a una profundidad de pila parecida a la de
+ * una petición de Spring MVC; los "servicio*" comparan la consulta real con excepción (findById) y sin ella
+ * (findJsonById), contra H2 en memoria. Para ver los bytes por operación: -Djmh.args="UsuarioNoEncontradoBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UsuarioNoEncontradoBenchmark {
+
+    private ConfigurableApplicationContext contexto;
+    private UsuarioService usuarioService;
+    private String idInexistente;
+
+    @State(Scope.Benchmark)
+    public static class Pila {
+        @Param({"20", "150"})
+        public int profundidad;
+    }
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoH2.iniciar("benchmark-no-encontrado");
+        usuarioService = contexto.getBean(UsuarioService.class);
+        idInexistente = IdentificadorOrdenado.nuevo();
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public String excepcionConTraza(Pila pila) {
+        try {
+            return lanzar(pila.profundidad, true);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String excepcionSinTraza(Pila pila) {
+        try {
+            return lanzar(pila.profundidad, false);
+        } catch (UsuarioNoEncontradoException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Object servicioConExcepcion() throws Exception {
+        try {
+            return usuarioService.findById(idInexistente);
+        } catch (UsuarioNoEncontradoException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object servicioSinExcepcion() throws Exception {
+        return usuarioService.findJsonById(idInexistente);
+    }
+
+    // Baja la cantidad de marcos indicada antes de lanzar, como lo haría la excepción del servicio dentro de MVC
+    private String lanzar(int profundidad, boolean conTraza) {
+        if (profundidad > 0) {
+            return lanzar(profundidad - 1, conTraza);
+        }
+        if (conTraza) {
+            throw new IllegalArgumentException("Usuario no encontrado con el id: " + idInexistente);
+        }
+        throw new UsuarioNoEncontradoException(idInexistente);
+    }
+}
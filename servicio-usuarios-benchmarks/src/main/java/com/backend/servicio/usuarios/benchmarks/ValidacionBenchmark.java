@@ -0,0 +1,54 @@
+package com.backend.servicio.usuarios.benchmarks;
+
+import com.backend.servicio.usuarios.validation.ValidadorCredenciales;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacionBenchmark {
+
+    // Mismo patrón que usuario.contrasena.patron en application.properties
+    private static final String PATRON_CONTRASENA = "^(?=.*[A-Za-z])(?=.*\\d)[A-Za-z\\d]{6,}$";
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(ValidadorCredenciales.EMAIL_REGEX);
+
+    private ValidadorCredenciales validador;
+
+    @Param({"juan.perez@ejemplo.com", "correo-sin-arroba.com"})
+    private String correo;
+
+    @Param({"Password123", "solo-letras"})
+    private String contrasena;
+
+    @Setup
+    public void preparar() {
+        validador = new ValidadorCredenciales(PATRON_CONTRASENA);
+    }
+
+    @Benchmark
+    public boolean validarCorreo() {
+        return validador.esCorreoValido(correo);
+    }
+
+    @Benchmark
+    public boolean validarContrasena() {
+        return validador.esContrasenaValida(contrasena);
+    }
+
+    // Referencia: validación anterior con expresiones regulares
+    @Benchmark
+    public boolean validarCorreoRegex() {
+        return EMAIL_PATTERN.matcher(correo).matches();
+    }
+
+    @Benchmark
+    public boolean validarContrasenaRegex() {
+        return Pattern.matches(PATRON_CONTRASENA, contrasena);
+    }
+}
@@ -0,0 +1,70 @@
+package com.backend.servicio.usuarios.carga;
+
+import com.backend.servicio.usuarios.carga.UsuariosVivos.UsuarioVivo;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Arma y envía las peticiones de cada operación contra /api/usuarios. Los correos se numeran con un contador
+ * para que ninguna creación choque con la restricción de correo único.
+ */
+final class ClienteUsuarios {
+
+    private final HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String base;
+    private final AtomicLong secuencia = new AtomicLong();
+
+    ClienteUsuarios(String base) {
+        this.base = base;
+    }
+
+    String nuevoCorreo() {
+        return "carga" + secuencia.getAndIncrement() + "@ejemplo.com";
+    }
+
+    HttpResponse<String> enviar(Operacion operacion, UsuarioVivo usuario, String correoNuevo, String token) throws Exception {
+        HttpRequest.Builder peticion = switch (operacion) {
+            case CREAR -> HttpRequest.newBuilder(URI.create(base))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(cuerpo("Usuario de carga", correoNuevo, 1)));
+            case OBTENER -> HttpRequest.newBuilder(URI.create(base + "/" + usuario.id())).GET();
+            case LISTAR -> HttpRequest.newBuilder(URI.create(base + "?tamano=20")).GET();
+            case ACTUALIZAR -> HttpRequest.newBuilder(URI.create(base + "/" + usuario.id()))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(cuerpo("Usuario actualizado", usuario.correo(), 2)));
+            // El PATCH no pasa por @Valid: el servicio valida solo los campos que trae, aquí únicamente el nombre
+            case ACTUALIZAR_PARCIAL -> HttpRequest.newBuilder(URI.create(base + "/" + usuario.id()))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"nombre\":\"Usuario parcial\"}"));
+            case ELIMINAR -> HttpRequest.newBuilder(URI.create(base + "/" + usuario.id())).DELETE();
+        };
+        if (token != null) {
+            peticion.header("Authorization", "Bearer " + token);
+        }
+        return cliente.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String cuerpo(String nombre, String correo, int telefonos) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"nombre\":\"").append(nombre)
+                .append("\",\"correo\":\"").append(correo)
+                .append("\",\"contrasena\":\"Password123\"");
+        if (telefonos > 0) {
+            json.append(",\"telefonos\":[");
+            for (int i = 0; i < telefonos; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"numero\":\"").append(ThreadLocalRandom.current().nextInt(1_000_000, 10_000_000))
+                        .append("\",\"codigoCiudad\":\"1\",\"codigoPais\":\"57\"}");
+            }
+            json.append(']');
+        }
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.backend.servicio.usuarios.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Proporción de cada operación en la carga, leída de una lista "operacion=peso" separada por comas,
+ * por ejemplo "crear=10,obtener=50,listar=15,actualizar=10,parcial=10,eliminar=5".
+ * Las operaciones que no aparecen no se ejecutan.
+ */
+final class MezclaOperaciones {
+
+    private final Operacion[] operaciones;
+    private final int[] pesosAcumulados;
+    private final Map<Operacion, Integer> pesos;
+
+    private MezclaOperaciones(Map<Operacion, Integer> pesos) {
+        this.pesos = pesos;
+        this.operaciones = pesos.keySet().toArray(new Operacion[0]);
+        this.pesosAcumulados = new int[operaciones.length];
+        int acumulado = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            acumulado += pesos.get(operaciones[i]);
+            pesosAcumulados[i] = acumulado;
+        }
+    }
+
+    static MezclaOperaciones parsear(String definicion) {
+        Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+        for (String parte : definicion.split(",")) {
+            String[] claveValor = parte.trim().split("=");
+            if (claveValor.length != 2) {
+                throw new IllegalArgumentException("Cada elemento de la mezcla debe tener la forma operacion=peso: " + parte);
+            }
+            int peso = Integer.parseInt(claveValor[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("El peso no puede ser negativo: " + parte);
+            }
+            if (peso > 0) {
+                pesos.merge(Operacion.porNombre(claveValor[0].trim()), peso, Integer::sum);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla de operaciones está vacía");
+        }
+        return new MezclaOperaciones(pesos);
+    }
+
+    Operacion elegir() {
+        int valor = ThreadLocalRandom.current().nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (valor < pesosAcumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        pesos.forEach((operacion, peso) -> {
+            if (!texto.isEmpty()) {
+                texto.append(',');
+            }
+            texto.append(operacion.getNombre()).append('=').append(peso);
+        });
+        return texto.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.backend.servicio.usuarios.carga;
+
+/**
+ * Operaciones del API de usuarios que reproduce la prueba de carga, con el código HTTP que se espera de cada una.
+ */
+enum Operacion {
+    CREAR("crear", 201),
+    OBTENER("obtener", 200),
+    LISTAR("listar", 200),
+    ACTUALIZAR("actualizar", 200),
+    ACTUALIZAR_PARCIAL("parcial", 200),
+    ELIMINAR("eliminar", 204);
+
+    private final String nombre;
+    private final int estadoEsperado;
+
+    Operacion(String nombre, int estadoEsperado) {
+        this.nombre = nombre;
+        this.estadoEsperado = estadoEsperado;
+    }
+
+    String getNombre() {
+        return nombre;
+    }
+
+    int getEstadoEsperado() {
+        return estadoEsperado;
+    }
+
+    // Las operaciones sobre un usuario concreto necesitan uno ya creado
+    boolean requiereUsuario() {
+        return this != CREAR && this != LISTAR;
+    }
+
+    static Operacion porNombre(String nombre) {
+        for (Operacion operacion : values()) {
+            if (operacion.nombre.equals(nombre)) {
+                return operacion;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida en la mezcla: " + nombre);
+    }
+}
@@ -0,0 +1,160 @@
+package com.backend.servicio.usuarios.carga;
+
+import com.backend.servicio.usuarios.ServicioUsuariosApplication;
+import com.backend.servicio.usuarios.carga.UsuariosVivos.UsuarioVivo;
+import com.backend.servicio.usuarios.jwt.JwtAuthenticationFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de carga del API de usuarios. Levanta el servicio en un puerto libre de 127.0.0.1 contra una base H2
+ * en memoria (sin servidor TCP ni otra red que loopback) y reproduce una mezcla configurable de crear, obtener,
+ * listar, actualizar, actualizar parcialmente y eliminar, con un token JWT válido por cliente. Informa throughput
+ * y latencias p50/p95/p99/p99.9 por operación con histogramas HDR y guarda las distribuciones en carga.salida.
+ *
+ * La carga es de lazo cerrado: cada cliente envía la siguiente petición al recibir la respuesta anterior,
+ * así que los percentiles describen la concurrencia dada, no una tasa de llegada fija.
+ *
+ * mvn -pl servicio-usuarios-carga exec:exec
+ * Propiedades: -Dcarga.concurrencia (64), -Dcarga.peticiones (50000), -Dcarga.calentamiento (5000),
+ * -Dcarga.usuarios-iniciales (1000), -Dcarga.salida (target/carga),
+ * -Dcarga.mezcla (crear=10,obtener=50,listar=15,actualizar=10,parcial=10,eliminar=5).
+ * Los argumentos del programa se pasan al servicio, por ejemplo --spring.profiles.active=virtual.
+ */
+public final class PruebaCarga {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private PruebaCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrencia = Integer.getInteger("carga.concurrencia", 64);
+        int peticiones = Integer.getInteger("carga.peticiones", 50000);
+        int calentamiento = Integer.getInteger("carga.calentamiento", 5000);
+        int usuariosIniciales = Integer.getInteger("carga.usuarios-iniciales", 1000);
+        Path salida = Path.of(System.getProperty("carga.salida", "target/carga"));
+        MezclaOperaciones mezcla = MezclaOperaciones.parsear(
+                System.getProperty("carga.mezcla", "crear=10,obtener=50,listar=15,actualizar=10,parcial=10,eliminar=5"));
+
+        long errores;
+        try (ConfigurableApplicationContext contexto = iniciarServicio(args)) {
+            ClienteUsuarios api = new ClienteUsuarios(
+                    "http://127.0.0.1:" + contexto.getEnvironment().getProperty("local.server.port") + "/api/usuarios");
+            UsuariosVivos vivos = new UsuariosVivos();
+            sembrar(api, vivos, usuariosIniciales);
+
+            ejecutar(api, vivos, mezcla, concurrencia, calentamiento, new ResultadosCarga());
+            ResultadosCarga resultados = new ResultadosCarga();
+            long inicio = System.nanoTime();
+            ejecutar(api, vivos, mezcla, concurrencia, peticiones, resultados);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            System.out.printf("Mezcla %s, %d clientes, %d peticiones en %.1f s (%d usuarios vivos al terminar)%n",
+                    mezcla, concurrencia, peticiones, segundos, vivos.cantidad());
+            resultados.imprimir(System.out, segundos);
+            resultados.guardarDistribuciones(salida);
+            System.out.println("Distribuciones completas en " + salida.toAbsolutePath());
+            errores = resultados.errores();
+        }
+        if (errores > 0) {
+            System.out.println("Peticiones con error: " + errores);
+            System.exit(1);
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciarServicio(String[] argumentosAdicionales) {
+        String[] propiedades = {
+                "--server.port=0",
+                "--server.address=127.0.0.1",
+                "--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1",
+                "--spring.sql.init.mode=always",
+                "--spring.h2.console.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.eclipselink.logging.level=SEVERE",
+                "--spring.jpa.properties.eclipselink.logging.level.sql=OFF",
+                "--spring.jpa.properties.eclipselink.logging.sql=OFF",
+                "--logging.level.root=WARN",
+                "--logging.level.org.eclipse.persistence=WARN",
+                "--logging.level.org.springframework.jdbc.core.JdbcTemplate=WARN"
+        };
+        String[] argumentos = new String[propiedades.length + argumentosAdicionales.length];
+        System.arraycopy(propiedades, 0, argumentos, 0, propiedades.length);
+        System.arraycopy(argumentosAdicionales, 0, argumentos, propiedades.length, argumentosAdicionales.length);
+
+        // Se pasan como argumentos para que tengan prioridad sobre application.properties
+        return new SpringApplicationBuilder(ServicioUsuariosApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(argumentos);
+    }
+
+    private static void sembrar(ClienteUsuarios api, UsuariosVivos vivos, int cantidad) throws Exception {
+        for (int i = 0; i < cantidad; i++) {
+            String correo = api.nuevoCorreo();
+            HttpResponse<String> respuesta = api.enviar(Operacion.CREAR, null, correo, null);
+            if (respuesta.statusCode() != 201) {
+                throw new IllegalStateException("No se pudo crear el usuario de prueba: " + respuesta.body());
+            }
+            vivos.agregar(new UsuarioVivo(JSON.readTree(respuesta.body()).get("id").asText(), correo));
+        }
+    }
+
+    private static void ejecutar(ClienteUsuarios api, UsuariosVivos vivos, MezclaOperaciones mezcla,
+                                 int concurrencia, int total, ResultadosCarga resultados) throws Exception {
+        AtomicInteger siguiente = new AtomicInteger();
+        ExecutorService clientes = Executors.newFixedThreadPool(concurrencia);
+        for (int c = 0; c < concurrencia; c++) {
+            // Un token por cliente, como lo harían usuarios distintos
+            String token = JwtAuthenticationFilter.generateToken("cliente-carga-" + c + "@ejemplo.com");
+            clientes.execute(() -> {
+                while (siguiente.getAndIncrement() < total) {
+                    ejecutarUna(api, vivos, mezcla.elegir(), token, resultados);
+                }
+            });
+        }
+        clientes.shutdown();
+        clientes.awaitTermination(30, TimeUnit.MINUTES);
+    }
+
+    private static void ejecutarUna(ClienteUsuarios api, UsuariosVivos vivos, Operacion operacion, String token,
+                                    ResultadosCarga resultados) {
+        UsuarioVivo usuario = null;
+        if (operacion.requiereUsuario()) {
+            usuario = operacion == Operacion.ELIMINAR ? vivos.quitar() : vivos.elegir();
+            // Si la mezcla eliminó a todos, se crea uno para no detener la carga
+            if (usuario == null) {
+                operacion = Operacion.CREAR;
+            }
+        }
+        String correo = operacion == Operacion.CREAR ? api.nuevoCorreo() : null;
+
+        int estado;
+        String cuerpo = null;
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<String> respuesta = api.enviar(operacion, usuario, correo, token);
+            estado = respuesta.statusCode();
+            cuerpo = respuesta.body();
+        } catch (Exception e) {
+            estado = -1;
+        }
+        resultados.registrar(operacion, System.nanoTime() - inicio, estado);
+
+        if (operacion == Operacion.CREAR && estado == 201) {
+            try {
+                vivos.agregar(new UsuarioVivo(JSON.readTree(cuerpo).get("id").asText(), correo));
+            } catch (Exception e) {
+                // Sin id no se puede reutilizar; la creación ya quedó medida
+            }
+        }
+    }
+}
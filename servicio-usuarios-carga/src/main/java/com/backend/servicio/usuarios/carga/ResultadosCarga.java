@@ -0,0 +1,110 @@
+package com.backend.servicio.usuarios.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias en microsegundos por operación en histogramas HDR (3 dígitos significativos, sin límite fijo)
+ * y conteo de respuestas esperadas, 404, conflictos y errores. Los clientes registran en paralelo sin bloquearse.
+ * Dos clientes pueden modificar al mismo usuario a la vez: el servicio rechaza al segundo con 409 (412 si
+ * hubiera enviado If-Match) por el bloqueo optimista, que es su comportamiento esperado y no un error.
+ */
+final class ResultadosCarga {
+
+    private final Map<Operacion, Medicion> mediciones = new EnumMap<>(Operacion.class);
+
+    ResultadosCarga() {
+        for (Operacion operacion : Operacion.values()) {
+            mediciones.put(operacion, new Medicion());
+        }
+    }
+
+    void registrar(Operacion operacion, long nanos, int estado) {
+        Medicion medicion = mediciones.get(operacion);
+        medicion.latencias.recordValue(Math.max(1, nanos / 1000));
+        if (estado == operacion.getEstadoEsperado()) {
+            medicion.exitosas.increment();
+        } else if (estado == 404) {
+            medicion.noEncontradas.increment();
+        } else if (estado == 409 || estado == 412) {
+            medicion.conflictos.increment();
+        } else {
+            medicion.errores.increment();
+        }
+    }
+
+    long errores() {
+        return mediciones.values().stream().mapToLong(medicion -> medicion.errores.sum()).sum();
+    }
+
+    void imprimir(PrintStream salida, double segundos) {
+        Histogram total = new Histogram(3);
+        salida.printf("%-10s %10s %10s %9s %9s %9s %9s %9s %7s %10s %7s%n",
+                "operacion", "peticiones", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms", "404",
+                "conflictos", "errores");
+        for (Map.Entry<Operacion, Medicion> entrada : mediciones.entrySet()) {
+            Histogram latencias = entrada.getValue().latencias.copy();
+            if (latencias.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(latencias);
+            imprimirFila(salida, entrada.getKey().getNombre(), latencias, segundos,
+                    entrada.getValue().noEncontradas.sum(), entrada.getValue().conflictos.sum(),
+                    entrada.getValue().errores.sum());
+        }
+        imprimirFila(salida, "total", total, segundos,
+                mediciones.values().stream().mapToLong(medicion -> medicion.noEncontradas.sum()).sum(),
+                mediciones.values().stream().mapToLong(medicion -> medicion.conflictos.sum()).sum(), errores());
+    }
+
+    // Distribución completa de cada operación en formato .hgrm (en ms), legible con HdrHistogram plotter
+    void guardarDistribuciones(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        for (Map.Entry<Operacion, Medicion> entrada : mediciones.entrySet()) {
+            Histogram latencias = entrada.getValue().latencias.copy();
+            if (latencias.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream archivo = new PrintStream(
+                    Files.newOutputStream(directorio.resolve(entrada.getKey().getNombre() + ".hgrm")))) {
+                latencias.outputPercentileDistribution(archivo, 1000.0);
+            }
+        }
+    }
+
+    private static void imprimirFila(PrintStream salida, String nombre, Histogram latencias, double segundos,
+                                     long noEncontradas, long conflictos, long errores) {
+        salida.printf("%-10s %10d %10.0f %9.2f %9.2f %9.2f %9.2f %9.2f %7d %10d %7d%n",
+                nombre,
+                latencias.getTotalCount(),
+                latencias.getTotalCount() / segundos,
+                milisegundos(latencias, 50.0),
+                milisegundos(latencias, 95.0),
+                milisegundos(latencias, 99.0),
+                milisegundos(latencias, 99.9),
+                latencias.getMaxValue() / 1000.0,
+                noEncontradas,
+                conflictos,
+                errores);
+    }
+
+    private static double milisegundos(Histogram latencias, double percentil) {
+        return latencias.getValueAtPercentile(percentil) / 1000.0;
+    }
+
+    private static final class Medicion {
+        private final ConcurrentHistogram latencias = new ConcurrentHistogram(3);
+        private final LongAdder exitosas = new LongAdder();
+        private final LongAdder noEncontradas = new LongAdder();
+        private final LongAdder conflictos = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+    }
+}
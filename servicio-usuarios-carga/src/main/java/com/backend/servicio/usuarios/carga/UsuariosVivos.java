@@ -0,0 +1,46 @@
+package com.backend.servicio.usuarios.carga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Usuarios creados durante la prueba y aún no eliminados, de los que se eligen al azar los destinos
+ * de obtener, actualizar y eliminar. Un eliminado sale del conjunto antes de enviar el DELETE, pero una
+ * lectura concurrente puede haberlo elegido antes: esos 404 se cuentan aparte y no como errores.
+ */
+final class UsuariosVivos {
+
+    record UsuarioVivo(String id, String correo) {
+    }
+
+    private final List<UsuarioVivo> usuarios = new ArrayList<>();
+
+    synchronized void agregar(UsuarioVivo usuario) {
+        usuarios.add(usuario);
+    }
+
+    synchronized UsuarioVivo elegir() {
+        if (usuarios.isEmpty()) {
+            return null;
+        }
+        return usuarios.get(ThreadLocalRandom.current().nextInt(usuarios.size()));
+    }
+
+    // Quita un usuario al azar intercambiándolo con el último para no desplazar la lista
+    synchronized UsuarioVivo quitar() {
+        if (usuarios.isEmpty()) {
+            return null;
+        }
+        int indice = ThreadLocalRandom.current().nextInt(usuarios.size());
+        int ultimo = usuarios.size() - 1;
+        UsuarioVivo quitado = usuarios.get(indice);
+        usuarios.set(indice, usuarios.get(ultimo));
+        usuarios.remove(ultimo);
+        return quitado;
+    }
+
+    synchronized int cantidad() {
+        return usuarios.size();
+    }
+}
@@ -0,0 +1,124 @@
+package com.backend.servicio.usuarios.cache;
+
+import com.backend.servicio.usuarios.exceptions.EsperaAgotadaException;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Carga de un solo vuelo (single-flight) sobre una AsyncCache. La cache solo registra un futuro pendiente:
+ * quien lo registró hace la carga en su propio hilo, fuera de los locks de la cache para no fijar hilos
+ * virtuales durante el acceso JDBC, y los demás hilos que piden la misma clave esperan ese mismo resultado
+ * o reciben el mismo error. La espera está acotada; si se agota se lanza EsperaAgotadaException (503).
+ * Un resultado null o un error no quedan en la cache, así que la siguiente petición vuelve a cargar.
+ */
+final class CargaUnica<V> {
+
+    private static final EsperaAgotadaException ESPERA_AGOTADA =
+            new EsperaAgotadaException("El recurso está ocupado; vuelva a intentarlo en un momento.");
+
+    private final String nombre;
+    private final AsyncCache<String, V> cache;
+    private final long esperaMaximaNanos;
+
+    private final AtomicLong cargas = new AtomicLong();
+    private final AtomicLong coalescidas = new AtomicLong();
+    private final AtomicLong esperasAgotadas = new AtomicLong();
+
+    CargaUnica(String nombre, AsyncCache<String, V> cache, Duration esperaMaxima) {
+        this.nombre = nombre;
+        this.cache = cache;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+    }
+
+    V cargar(String clave, Function<String, V> cargador) {
+        CompletableFuture<V> propio = new CompletableFuture<>();
+        CompletableFuture<V> futuro = cache.get(clave, (k, executor) -> propio);
+        if (futuro == propio) {
+            cargas.incrementAndGet();
+            V valor;
+            try {
+                valor = cargador.apply(clave);
+            } catch (RuntimeException | Error e) {
+                // También los Error: si el futuro quedara pendiente, los que esperan solo saldrían por tiempo
+                propio.completeExceptionally(e);
+                throw e;
+            }
+            propio.complete(valor);
+            return valor;
+        }
+        if (futuro.isDone()) {
+            return resultado(futuro);
+        }
+        coalescidas.incrementAndGet();
+        try {
+            return futuro.get(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            esperasAgotadas.incrementAndGet();
+            throw ESPERA_AGOTADA;
+        } catch (ExecutionException e) {
+            throw propagar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras esperaba la carga de " + nombre, e);
+        }
+    }
+
+    private static <V> V resultado(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            throw propagar(e.getCause());
+        }
+    }
+
+    // Devuelve la excepción a lanzar con el error de la carga; los Error se propagan tal cual
+    private static RuntimeException propagar(Throwable causa) {
+        if (causa instanceof Error error) {
+            throw error;
+        }
+        return causa instanceof RuntimeException excepcion ? excepcion : new IllegalStateException(causa);
+    }
+
+    // Fracción de las cargas pedidas que se resolvieron esperando una carga en curso
+    double coalescencia() {
+        long esperas = coalescidas.get();
+        long total = esperas + cargas.get();
+        return total == 0 ? 0 : (double) esperas / total;
+    }
+
+    long getCargas() {
+        return cargas.get();
+    }
+
+    long getCoalescidas() {
+        return coalescidas.get();
+    }
+
+    void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("usuarios.carga.cargas", cargas, AtomicLong::get)
+                .tag("cache", nombre)
+                .description("Cargas ejecutadas contra la base por fallos de cache")
+                .register(registry);
+        FunctionCounter.builder("usuarios.carga.coalescidas", coalescidas, AtomicLong::get)
+                .tag("cache", nombre)
+                .description("Lecturas que esperaron una carga en curso de la misma clave en lugar de repetirla")
+                .register(registry);
+        FunctionCounter.builder("usuarios.carga.esperas.agotadas", esperasAgotadas, AtomicLong::get)
+                .tag("cache", nombre)
+                .register(registry);
+        Gauge.builder("usuarios.carga.coalescencia", this, CargaUnica::coalescencia)
+                .tag("cache", nombre)
+                .register(registry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.backend.servicio.usuarios.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas seguro entre hilos. Nunca da falsos negativos:
+ * si responde false el valor no fue agregado; si responde true puede ser un falso positivo.
+ */
+class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long cantidadBits;
+    private final int cantidadHashes;
+    // Cada filtro cuenta sus propias inserciones: un valor agregado dos veces cuenta dos (estimación conservadora)
+    private final AtomicLong elementos = new AtomicLong();
+
+    FiltroBloom(long capacidad, double probabilidadFalsoPositivo) {
+        long n = Math.max(1, capacidad);
+        long m = (long) Math.ceil(-n * Math.log(probabilidadFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palabras = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(palabras);
+        this.cantidadBits = (long) palabras * 64;
+        this.cantidadHashes = Math.max(1, (int) Math.round((double) cantidadBits / n * Math.log(2)));
+    }
+
+    void agregar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= cantidadHashes; i++) {
+            long bit = indice(h1 + i * h2);
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual;
+            do {
+                actual = bits.get(palabra);
+                if ((actual & mascara) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(palabra, actual, actual | mascara));
+        }
+        elementos.incrementAndGet();
+    }
+
+    boolean podriaContener(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= cantidadHashes; i++) {
+            long bit = indice(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Probabilidad teórica de falso positivo con la cantidad de elementos agregados
+    double probabilidadFalsoPositivo(long elementos) {
+        return Math.pow(1 - Math.exp(-(double) cantidadHashes * elementos / cantidadBits), cantidadHashes);
+    }
+
+    long elementos() {
+        return elementos.get();
+    }
+
+    long tamanoEnBytes() {
+        return cantidadBits / 8;
+    }
+
+    private long indice(int combinado) {
+        return (combinado & 0x7fffffffL) % cantidadBits;
+    }
+
+    // FNV-1a de 64 bits con la mezcla final de MurmurHash3 para repartir bien los bits altos y bajos
+    private static long hash64(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,219 @@
+package com.backend.servicio.usuarios.cache;
+
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Conjunto probabilístico de correos registrados para evitar la consulta existsByCorreo
+ * cuando el correo seguro no existe. La restricción UNIQUE de correo sigue siendo la autoridad final.
+ * Un filtro de Bloom no admite borrados: los correos eliminados o reemplazados se cuentan
+ * y el filtro se reconstruye desde la tabla cuando superan el umbral configurado.
+ */
+@Component
+public class FiltroCorreosRegistrados implements MeterBinder {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${usuario.bloom.capacidad:1000000}")
+    private long capacidad;
+
+    @Value("${usuario.bloom.probabilidad-falso-positivo:0.01}")
+    private double probabilidadFalsoPositivo;
+
+    @Value("${usuario.bloom.umbral-reconstruccion:0.1}")
+    private double umbralReconstruccion;
+
+    // Null hasta terminar la primera carga: mientras tanto todas las consultas van a la base
+    private volatile FiltroBloom filtro;
+    // Filtro que se está reconstruyendo; recibe también los correos agregados durante la reconstrucción
+    private volatile FiltroBloom enConstruccion;
+
+    // ReentrantLock en lugar de synchronized: la reconstrucción hace I/O y no debe fijar hilos virtuales
+    private final ReentrantLock reconstruccion = new ReentrantLock();
+
+    private final AtomicLong obsoletos = new AtomicLong();
+    private final AtomicLong consultas = new AtomicLong();
+    private final AtomicLong descartesSinBaseDeDatos = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        reconstruir();
+    }
+
+    @Scheduled(fixedDelayString = "${usuario.bloom.revision-ms:60000}")
+    public void revisarReconstruccion() {
+        long total = elementos();
+        if (filtro != null && total > 0 && obsoletos.get() > total * umbralReconstruccion) {
+            reconstruir();
+        }
+    }
+
+    public void reconstruir() {
+        reconstruccion.lock();
+        try {
+            reconstruirFiltro();
+        } finally {
+            reconstruccion.unlock();
+        }
+    }
+
+    private void reconstruirFiltro() {
+        long registrados = usuarioRepository.count();
+        FiltroBloom nuevo = new FiltroBloom(Math.max(capacidad, registrados * 2), probabilidadFalsoPositivo);
+        enConstruccion = nuevo;
+        // Los correos marcados obsoletos durante la carga pueden estar en la foto leída: se conservan
+        long obsoletosPrevios = obsoletos.get();
+        try {
+            TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+            transaccion.setReadOnly(true);
+            transaccion.executeWithoutResult(estado -> {
+                try (Stream<String> correos = usuarioRepository.streamCorreos()) {
+                    correos.forEach(nuevo::agregar);
+                }
+            });
+            // El nuevo filtro ya contiene la foto de la tabla y los correos confirmados mientras se leía
+            obsoletos.addAndGet(-obsoletosPrevios);
+            filtro = nuevo;
+        } finally {
+            enConstruccion = null;
+        }
+    }
+
+    // false significa que el correo seguro no está registrado y se puede omitir la consulta
+    public boolean podriaEstarRegistrado(String correo) {
+        FiltroBloom actual = filtro;
+        consultas.incrementAndGet();
+        if (actual != null && !actual.podriaContener(correo)) {
+            descartesSinBaseDeDatos.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    // Consulta el filtro y, si hace falta, la base; registra los falsos positivos observados
+    public boolean estaRegistrado(String correo) {
+        if (!podriaEstarRegistrado(correo)) {
+            return false;
+        }
+        boolean existe = usuarioRepository.existsByCorreo(correo);
+        registrarResultado(existe);
+        return existe;
+    }
+
+    public void registrarResultado(boolean existe) {
+        if (!existe && filtro != null) {
+            falsosPositivos.incrementAndGet();
+        }
+    }
+
+    // Dentro de una transacción el correo se agrega al confirmarla. Si se agregara antes, una reconstrucción
+    // que empiece entre ese momento y el commit leería una foto sin la fila y el nuevo filtro no lo tendría
+    public void agregar(String correo) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    agregarAhora(correo);
+                }
+            });
+        } else {
+            agregarAhora(correo);
+        }
+    }
+
+    // Primero el filtro en construcción: si todavía no existe, la reconstrucción leerá la fila ya confirmada;
+    // si ya terminó, el filtro vigente es el nuevo
+    private void agregarAhora(String correo) {
+        FiltroBloom nuevo = enConstruccion;
+        if (nuevo != null) {
+            nuevo.agregar(correo);
+        }
+        FiltroBloom actual = filtro;
+        if (actual != null) {
+            actual.agregar(correo);
+        }
+    }
+
+    // El correo deja de estar registrado (usuario eliminado o correo cambiado)
+    public void marcarObsoleto() {
+        obsoletos.incrementAndGet();
+    }
+
+    public long getObsoletos() {
+        return obsoletos.get();
+    }
+
+    public long getConsultas() {
+        return consultas.get();
+    }
+
+    public long getDescartesSinBaseDeDatos() {
+        return descartesSinBaseDeDatos.get();
+    }
+
+    public long getFalsosPositivos() {
+        return falsosPositivos.get();
+    }
+
+    // Tasa observada: consultas que pasaron el filtro sin que el correo existiera
+    public double tasaFalsosPositivos() {
+        long verificadas = consultas.get() - descartesSinBaseDeDatos.get();
+        return verificadas == 0 ? 0 : (double) falsosPositivos.get() / verificadas;
+    }
+
+    public double probabilidadFalsoPositivoEstimada() {
+        FiltroBloom actual = filtro;
+        return actual == null ? 1 : actual.probabilidadFalsoPositivo(actual.elementos());
+    }
+
+    public long elementos() {
+        FiltroBloom actual = filtro;
+        return actual == null ? 0 : actual.elementos();
+    }
+
+    public long memoriaEnBytes() {
+        FiltroBloom actual = filtro;
+        return actual == null ? 0 : actual.tamanoEnBytes();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("usuarios.bloom.consultas", this, FiltroCorreosRegistrados::getConsultas)
+                .description("Consultas de correo que pasaron por el filtro de Bloom")
+                .register(registry);
+        FunctionCounter.builder("usuarios.bloom.descartes", this, FiltroCorreosRegistrados::getDescartesSinBaseDeDatos)
+                .description("Consultas resueltas por el filtro sin ir a la base de datos")
+                .register(registry);
+        FunctionCounter.builder("usuarios.bloom.falsos.positivos", this, FiltroCorreosRegistrados::getFalsosPositivos)
+                .register(registry);
+        Gauge.builder("usuarios.bloom.falsos.positivos.tasa", this, FiltroCorreosRegistrados::tasaFalsosPositivos)
+                .register(registry);
+        Gauge.builder("usuarios.bloom.falsos.positivos.estimada", this, FiltroCorreosRegistrados::probabilidadFalsoPositivoEstimada)
+                .register(registry);
+        Gauge.builder("usuarios.bloom.memoria", this, FiltroCorreosRegistrados::memoriaEnBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,149 @@
+package com.backend.servicio.usuarios.cache;
+
+import com.backend.servicio.usuarios.dto.UsuarioResponse;
+import com.backend.servicio.usuarios.exceptions.ClaveIdempotenciaReutilizadaException;
+import com.backend.servicio.usuarios.exceptions.DatosInvalidosException;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registros de usuario (POST /api/usuarios) ya completados o en curso, por Idempotency-Key.
+ * Un reintento con la misma clave y el mismo cuerpo recibe la respuesta guardada, con su token, sin firmar otro JWT
+ * ni ir a la base (el cuerpo sí pasa antes por @Valid en el controlador), y los duplicados concurrentes esperan
+ * el resultado de la petición en curso en lugar de repetirla. La clave queda ligada a una huella SHA-256 del cuerpo
+ * completo: solo quien repite también la contraseña recibe el JWT, así que conocer la clave y el correo no alcanza.
+ * Solo se guardan los registros exitosos: si la petición falla, quienes esperaban reciben el mismo error
+ * y la clave queda libre para un nuevo intento. Las entradas vencen a los ttl-segundos y su cantidad está acotada.
+ */
+@Component
+public class RegistrosIdempotentes implements MeterBinder {
+
+    public static final String CABECERA = "Idempotency-Key";
+
+    private static final int LARGO_MAXIMO_CLAVE = 255;
+    private static final DatosInvalidosException CLAVE_INVALIDA =
+            new DatosInvalidosException("La cabecera " + CABECERA + " debe tener entre 1 y " + LARGO_MAXIMO_CLAVE + " caracteres.");
+
+    private final AsyncCache<String, Registro> registros;
+    private final CargaUnica<Registro> carga;
+    private final AtomicLong repetidas = new AtomicLong();
+
+    public RegistrosIdempotentes(@Value("${usuario.idempotencia.tamano-maximo:50000}") long tamanoMaximo,
+                                 @Value("${usuario.idempotencia.ttl-segundos:86400}") long ttlSegundos,
+                                 @Value("${usuario.idempotencia.espera-ms:10000}") long esperaMs) {
+        this.registros = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .buildAsync();
+        this.carga = new CargaUnica<>("usuarios.idempotencia", registros, Duration.ofMillis(esperaMs));
+    }
+
+    @FunctionalInterface
+    public interface Creacion {
+        UsuarioResponse ejecutar() throws Exception;
+    }
+
+    public record Resultado(UsuarioResponse respuesta, boolean repetida) {
+    }
+
+    // La clave queda ligada al cuerpo del primer registro; reutilizarla con otro cuerpo es un error del cliente.
+    // La huella se calcula antes de crear, porque el servicio modifica el usuario al guardarlo
+    public Resultado registrar(String clave, Usuario usuario, Creacion creacion) {
+        if (clave.isBlank() || clave.length() > LARGO_MAXIMO_CLAVE) {
+            throw CLAVE_INVALIDA;
+        }
+        byte[] huella = huella(usuario);
+        boolean[] propia = {false};
+        Registro registro = carga.cargar(clave, k -> {
+            propia[0] = true;
+            UsuarioResponse respuesta = ejecutar(creacion);
+            // Un null no se guarda: Caffeine descarta los futuros completados con null
+            return respuesta == null ? null : new Registro(huella, respuesta);
+        });
+        if (registro == null) {
+            return new Resultado(null, false);
+        }
+        if (!MessageDigest.isEqual(registro.huella(), huella)) {
+            throw new ClaveIdempotenciaReutilizadaException(
+                    "La " + CABECERA + " ya se usó para un registro con otros datos.");
+        }
+        if (!propia[0]) {
+            repetidas.incrementAndGet();
+        }
+        return new Resultado(registro.respuesta(), !propia[0]);
+    }
+
+    // SHA-256 de nombre, correo, contraseña y teléfonos, cada campo precedido de su largo para que
+    // ("ab", "c") y ("a", "bc") no den la misma huella
+    static byte[] huella(Usuario usuario) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        agregar(digest, usuario.getNombre());
+        agregar(digest, usuario.getCorreo());
+        agregar(digest, usuario.getContrasena());
+        if (usuario.getTelefonos() != null) {
+            for (Telefono telefono : usuario.getTelefonos()) {
+                agregar(digest, telefono.getNumero());
+                agregar(digest, telefono.getCodigoCiudad());
+                agregar(digest, telefono.getCodigoPais());
+            }
+        }
+        return digest.digest();
+    }
+
+    private static void agregar(MessageDigest digest, String valor) {
+        if (valor == null) {
+            digest.update(new byte[]{-1, -1, -1, -1});
+            return;
+        }
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        int largo = bytes.length;
+        digest.update(new byte[]{(byte) (largo >>> 24), (byte) (largo >>> 16), (byte) (largo >>> 8), (byte) largo});
+        digest.update(bytes);
+    }
+
+    private static UsuarioResponse ejecutar(Creacion creacion) {
+        try {
+            return creacion.ejecutar();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    public long getRepetidas() {
+        return repetidas.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, registros, "usuarios.idempotencia");
+        carga.bindTo(registry);
+        FunctionCounter.builder("usuarios.idempotencia.repetidas", repetidas, AtomicLong::get)
+                .description("Registros respondidos con el resultado de una petición anterior o en curso")
+                .register(registry);
+    }
+
+    private record Registro(byte[] huella, UsuarioResponse respuesta) {
+    }
+}
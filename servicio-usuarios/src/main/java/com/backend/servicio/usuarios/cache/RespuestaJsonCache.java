@@ -0,0 +1,57 @@
+package com.backend.servicio.usuarios.cache;
+
+import com.backend.servicio.usuarios.dto.UsuarioJson;
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache de las respuestas JSON ya serializadas de cada usuario, para que el GET por id escriba bytes
+ * directamente sin volver a pasar por Jackson. Cada entrada guarda la versión de la que se generó:
+ * si la vista trae otra versión el JSON se regenera, y las escrituras del servicio además la invalidan.
+ * El tamaño está acotado por la suma de bytes guardados.
+ */
+@Component
+public class RespuestaJsonCache implements MeterBinder {
+
+    private final ObjectWriter writer;
+    private final Cache<String, UsuarioJson> porId;
+
+    public RespuestaJsonCache(ObjectMapper objectMapper,
+                              @Value("${usuario.cache.json.bytes-maximo:16777216}") long bytesMaximo) {
+        this.writer = objectMapper.writerFor(UsuarioVista.class);
+        this.porId = Caffeine.newBuilder()
+                .maximumWeight(bytesMaximo)
+                .weigher((String id, UsuarioJson json) -> json.json().length)
+                .recordStats()
+                .build();
+    }
+
+    public UsuarioJson serializar(UsuarioVista usuario) throws JsonProcessingException {
+        long version = usuario.version() == null ? 0 : usuario.version();
+        UsuarioJson cacheado = porId.getIfPresent(usuario.id());
+        if (cacheado != null && cacheado.version() == version) {
+            return cacheado;
+        }
+        UsuarioJson serializado = new UsuarioJson(version, writer.writeValueAsBytes(usuario));
+        porId.put(usuario.id(), serializado);
+        return serializado;
+    }
+
+    public void invalidar(String id) {
+        porId.invalidate(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, porId, "usuarios.json");
+    }
+}
@@ -0,0 +1,88 @@
+package com.backend.servicio.usuarios.cache;
+
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.repository.TelefonoRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cache de la búsqueda inversa número → ids de usuario. La clave es el número normalizado
+ * (solo dígitos de país, ciudad y número), así "+57 (1) 234-5678" y "57 1 2345678" comparten entrada.
+ * También guarda los números sin usuario, para que las consultas repetidas de números desconocidos
+ * tampoco lleguen a la base. Las escrituras del servicio invalidan los números de los teléfonos que tocan.
+ */
+@Component
+public class TelefonoCache implements MeterBinder {
+
+    private final TelefonoRepository telefonoRepository;
+    private final AsyncCache<String, List<String>> usuariosPorNumero;
+    private final CargaUnica<List<String>> carga;
+
+    public TelefonoCache(TelefonoRepository telefonoRepository,
+                         @Value("${telefono.cache.tamano-maximo:100000}") long tamanoMaximo,
+                         @Value("${telefono.cache.expiracion-segundos:300}") long expiracionSegundos,
+                         @Value("${usuario.cache.espera-carga-ms:2000}") long esperaCargaMs) {
+        this.telefonoRepository = telefonoRepository;
+        this.usuariosPorNumero = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(expiracionSegundos))
+                .recordStats()
+                .buildAsync();
+        this.carga = new CargaUnica<>("usuarios.por-telefono", usuariosPorNumero, Duration.ofMillis(esperaCargaMs));
+    }
+
+    // Misma normalización con la que Telefono guarda sus campos
+    public static String normalizar(String valor) {
+        return valor == null ? "" : Telefono.normalizar(valor);
+    }
+
+    // Recibe el número ya normalizado; devuelve una lista vacía si ningún usuario lo tiene
+    public List<String> buscarUsuarios(String codigoPais, String codigoCiudad, String numero) {
+        String clave = clave(codigoPais, codigoCiudad, numero);
+        return carga.cargar(clave,
+                k -> List.copyOf(telefonoRepository.findUsuarioIdsByNumero(codigoPais, codigoCiudad, numero)));
+    }
+
+    // Invalida ahora y de nuevo al terminar la transacción, igual que UsuarioCache
+    public void invalidar(Collection<Telefono> telefonos) {
+        if (telefonos == null || telefonos.isEmpty()) {
+            return;
+        }
+        List<String> claves = new ArrayList<>(telefonos.size());
+        for (Telefono telefono : telefonos) {
+            claves.add(clave(normalizar(telefono.getCodigoPais()), normalizar(telefono.getCodigoCiudad()),
+                    normalizar(telefono.getNumero())));
+        }
+        usuariosPorNumero.synchronous().invalidateAll(claves);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    usuariosPorNumero.synchronous().invalidateAll(claves);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, usuariosPorNumero, "usuarios.por-telefono");
+        carga.bindTo(registry);
+    }
+
+    private static String clave(String codigoPais, String codigoCiudad, String numero) {
+        return codigoPais + '|' + codigoCiudad + '|' + numero;
+    }
+}
@@ -0,0 +1,130 @@
+package com.backend.servicio.usuarios.cache;
+
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import com.backend.servicio.usuarios.services.UsuarioConsultas;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cache de lectura de usuarios con dos índices: por id y por correo. Guarda vistas inmutables
+ * (UsuarioVista), nunca entidades, así que las instancias se pueden compartir entre hilos.
+ * Es la única cache de segundo nivel de usuarios (la cache compartida de EclipseLink está desactivada),
+ * por lo que solo se invalida desde los métodos de escritura del servicio.
+ * Las cargas desde la base son de un solo vuelo (CargaUnica): las lecturas concurrentes del mismo
+ * usuario esperan la consulta en curso en lugar de repetirla.
+ */
+@Component
+public class UsuarioCache implements MeterBinder {
+
+    private final UsuarioRepository usuarioRepository;
+    private final UsuarioConsultas usuarioConsultas;
+    private final AsyncCache<String, UsuarioVista> porId;
+    // El índice por correo solo guarda el id; el usuario se resuelve siempre desde porId
+    private final AsyncCache<String, String> idPorCorreo;
+    // Las lecturas concurrentes del mismo usuario comparten una sola consulta
+    private final CargaUnica<UsuarioVista> cargaPorId;
+    private final CargaUnica<String> cargaPorCorreo;
+
+    public UsuarioCache(UsuarioRepository usuarioRepository,
+                        UsuarioConsultas usuarioConsultas,
+                        @Value("${usuario.cache.tamano-maximo:10000}") long tamanoMaximo,
+                        @Value("${usuario.cache.expiracion-segundos:300}") long expiracionSegundos,
+                        @Value("${usuario.cache.espera-carga-ms:2000}") long esperaCargaMs) {
+        this.usuarioRepository = usuarioRepository;
+        this.usuarioConsultas = usuarioConsultas;
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(expiracionSegundos))
+                .recordStats()
+                .buildAsync();
+        this.idPorCorreo = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(expiracionSegundos))
+                .recordStats()
+                .buildAsync();
+        this.cargaPorId = new CargaUnica<>("usuarios.por-id", porId, Duration.ofMillis(esperaCargaMs));
+        this.cargaPorCorreo = new CargaUnica<>("usuarios.por-correo", idPorCorreo, Duration.ofMillis(esperaCargaMs));
+    }
+
+    // Devuelve el usuario cacheado o lo carga; los usuarios inexistentes no se cachean
+    public UsuarioVista buscarPorId(String id) {
+        return cargaPorId.cargar(id, usuarioConsultas::buscarPorId);
+    }
+
+    public UsuarioVista buscarPorCorreo(String correo) {
+        String id = cargaPorCorreo.cargar(correo, clave -> usuarioRepository.findIdByCorreo(clave).orElse(null));
+        if (id == null) {
+            return null;
+        }
+        UsuarioVista usuario = buscarPorId(id);
+        if (usuario != null && correo.equals(usuario.correo())) {
+            return usuario;
+        }
+        // El índice quedó apuntando a un usuario que ya no tiene ese correo: se descarta y se consulta de nuevo
+        idPorCorreo.synchronous().invalidate(correo);
+        id = usuarioRepository.findIdByCorreo(correo).orElse(null);
+        return id == null ? null : buscarPorId(id);
+    }
+
+    // Invalida el usuario ahora y de nuevo al terminar la transacción, para que una lectura concurrente
+    // no deje cacheada la versión anterior al commit
+    public void invalidar(String id, String... correos) {
+        invalidarAhora(id, correos);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidarAhora(id, correos);
+                }
+            });
+        }
+    }
+
+    public CacheStats estadisticasPorId() {
+        return porId.synchronous().stats();
+    }
+
+    public CacheStats estadisticasPorCorreo() {
+        return idPorCorreo.synchronous().stats();
+    }
+
+    public long tamano() {
+        return porId.synchronous().estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, porId, "usuarios.por-id");
+        CaffeineCacheMetrics.monitor(registry, idPorCorreo, "usuarios.por-correo");
+        cargaPorId.bindTo(registry);
+        cargaPorCorreo.bindTo(registry);
+    }
+
+    private void invalidarAhora(String id, String... correos) {
+        CompletableFuture<UsuarioVista> cacheado = porId.getIfPresent(id);
+        if (cacheado != null && cacheado.isDone() && !cacheado.isCompletedExceptionally()) {
+            UsuarioVista usuario = cacheado.join();
+            if (usuario != null && usuario.correo() != null) {
+                idPorCorreo.synchronous().invalidate(usuario.correo());
+            }
+        }
+        porId.synchronous().invalidate(id);
+        for (String correo : correos) {
+            if (correo != null) {
+                idPorCorreo.synchronous().invalidate(correo);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.backend.servicio.usuarios.config;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaBaseConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.vendor.AbstractJpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.EclipseLinkJpaVendorAdapter;
+import org.springframework.transaction.jta.JtaTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * EclipseLink como proveedor JPA. Spring Boot solo autoconfigura Hibernate; sin esta clase (y sin
+ * hibernate-core en el classpath) no habría EntityManagerFactory. Las propiedades spring.jpa.properties.*
+ * se siguen pasando tal cual a EclipseLink.
+ */
+@Configuration
+@EnableConfigurationProperties(JpaProperties.class)
+public class EclipseLinkConfig extends JpaBaseConfiguration {
+
+    protected EclipseLinkConfig(DataSource dataSource, JpaProperties properties,
+                                ObjectProvider<JtaTransactionManager> jtaTransactionManager) {
+        super(dataSource, properties, jtaTransactionManager);
+    }
+
+    @Override
+    protected AbstractJpaVendorAdapter createJpaVendorAdapter() {
+        return new EclipseLinkJpaVendorAdapter();
+    }
+
+    @Override
+    protected Map<String, Object> getVendorProperties(DataSource dataSource) {
+        Map<String, Object> propiedades = new HashMap<>();
+        // Sin agente de instrumentación no hay weaving; las colecciones LAZY se resuelven igual con IndirectList
+        propiedades.put(PersistenceUnitProperties.WEAVING, "false");
+        // Las restricciones de Usuario se validan una sola vez, con el validador de Spring, al recibir la
+        // petición (@Valid) o en el servicio; la validación del ciclo de vida JPA las repetiría en cada flush
+        propiedades.put(PersistenceUnitProperties.VALIDATION_MODE, "NONE");
+        return propiedades;
+    }
+}
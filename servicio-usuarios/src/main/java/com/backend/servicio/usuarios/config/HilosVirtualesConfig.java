@@ -0,0 +1,27 @@
+package com.backend.servicio.usuarios.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Perfil "virtual": spring.threads.virtual.enabled solo tiene efecto desde Java 21. En una JVM anterior
+ * Spring Boot lo ignora sin avisar y el servicio quedaría con hilos de plataforma y el pool JDBC reducido
+ * del perfil, así que el arranque se detiene con un error explícito.
+ */
+@Configuration
+@Profile("virtual")
+public class HilosVirtualesConfig {
+
+    static final int VERSION_MINIMA = 21;
+
+    public HilosVirtualesConfig() {
+        verificarVersion(Runtime.version().feature());
+    }
+
+    static void verificarVersion(int version) {
+        if (version < VERSION_MINIMA) {
+            throw new IllegalStateException("El perfil virtual requiere Java " + VERSION_MINIMA
+                    + " o superior y la JVM actual es Java " + version + "; ejecute el servicio sin ese perfil.");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.backend.servicio.usuarios.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Reemplaza la reflexión de getters y setters por accesos generados con LambdaMetafactory;
+    // Spring Boot registra el módulo en el ObjectMapper de la aplicación
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,34 @@
+package com.backend.servicio.usuarios.config;
+
+import com.backend.servicio.usuarios.metrics.DataSourceInstrumentado;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricasConfig {
+
+    // Habilita @Timed en los servicios
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // Cuenta las sentencias SQL de cada petición envolviendo el DataSource del pool
+    @Bean
+    public static BeanPostProcessor dataSourceInstrumentadoPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceInstrumentado)) {
+                    return new DataSourceInstrumentado(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -26,6 +26,7 @@ public class SecurityConfig {
                     "/swagger-ui/**",
                     "/swagger-ui.html"
                 ).permitAll()
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // scraping de métricas
                 // Luego, las reglas más generales
                 .requestMatchers("/api/usuarios/**").authenticated() // endpoints de usuarios (GET, PUT,PATCH, DELETE) requieren autenticación
                 .anyRequest().authenticated()
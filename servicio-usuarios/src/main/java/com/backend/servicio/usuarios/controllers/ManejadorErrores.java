@@ -0,0 +1,60 @@
+package com.backend.servicio.usuarios.controllers;
+
+import com.backend.servicio.usuarios.dto.MensajeErrorResponse;
+import com.backend.servicio.usuarios.exceptions.ClaveIdempotenciaReutilizadaException;
+import com.backend.servicio.usuarios.exceptions.CorreoRegistradoException;
+import com.backend.servicio.usuarios.exceptions.DatosInvalidosException;
+import com.backend.servicio.usuarios.exceptions.EsperaAgotadaException;
+import com.backend.servicio.usuarios.exceptions.UsuarioNoEncontradoException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Respuestas de los errores esperados del dominio. No se cuentan en usuarios.errores ni se registran:
+ * son parte del funcionamiento normal del API.
+ */
+@RestControllerAdvice
+public class ManejadorErrores {
+
+    @ExceptionHandler(UsuarioNoEncontradoException.class)
+    public ResponseEntity<MensajeErrorResponse> noEncontrado(UsuarioNoEncontradoException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MensajeErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(CorreoRegistradoException.class)
+    public ResponseEntity<MensajeErrorResponse> correoRegistrado(CorreoRegistradoException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new MensajeErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(ClaveIdempotenciaReutilizadaException.class)
+    public ResponseEntity<MensajeErrorResponse> claveIdempotenciaReutilizada(ClaveIdempotenciaReutilizadaException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(new MensajeErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(DatosInvalidosException.class)
+    public ResponseEntity<MensajeErrorResponse> datosInvalidos(DatosInvalidosException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MensajeErrorResponse(e.getMessage()));
+    }
+
+    // @Valid rechazó el cuerpo: se responde con el mensaje de la primera restricción incumplida,
+    // el mismo que usa el servicio para los errores de validación
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<MensajeErrorResponse> cuerpoInvalido(MethodArgumentNotValidException e) {
+        FieldError error = e.getBindingResult().getFieldError();
+        String mensaje = error == null ? "La petición es inválida." : error.getDefaultMessage();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MensajeErrorResponse(mensaje));
+    }
+
+    // La carga del mismo usuario por otra petición no terminó a tiempo; el cliente puede reintentar enseguida
+    @ExceptionHandler(EsperaAgotadaException.class)
+    public ResponseEntity<MensajeErrorResponse> esperaAgotada(EsperaAgotadaException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MensajeErrorResponse(e.getMessage()));
+    }
+}
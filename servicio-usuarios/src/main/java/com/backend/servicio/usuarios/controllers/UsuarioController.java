@@ -1,14 +1,29 @@
 package com.backend.servicio.usuarios.controllers;
 
+import com.backend.servicio.usuarios.cache.RegistrosIdempotentes;
 import com.backend.servicio.usuarios.dto.MensajeErrorResponse;
+import com.backend.servicio.usuarios.dto.PaginaResponse;
+import com.backend.servicio.usuarios.dto.ResultadoBusqueda;
+import com.backend.servicio.usuarios.dto.ResultadoLoteResponse;
+import com.backend.servicio.usuarios.dto.UsuarioJson;
 import com.backend.servicio.usuarios.dto.UsuarioResponse;
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.backend.servicio.usuarios.exceptions.ErrorDominio;
 import com.backend.servicio.usuarios.models.entity.Usuario;
 import com.backend.servicio.usuarios.services.UsuarioService;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
 import java.util.Map;
@@ -21,68 +36,173 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private RegistrosIdempotentes registrosIdempotentes;
+
+    @Value("${usuario.exportacion.tiempo-maximo-ms:600000}")
+    private long tiempoMaximoExportacion;
+
     @GetMapping(consumes = "*/*")
-    public ResponseEntity<?> findAllUsuarios() {
+    public ResponseEntity<?> findAllUsuarios(@RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer tamano) {
         try {
-            List<Usuario> usuarios = usuarioService.findAll();
-            if (usuarios.isEmpty()) {
+            PaginaResponse<UsuarioVista> pagina = usuarioService.findPagina(cursor, tamano);
+            if (cursor == null && pagina.getElementos().isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MensajeErrorResponse("No se encontraron registros"));
             }
-            return ResponseEntity.ok(usuarios);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MensajeErrorResponse(e.getMessage()));
         }catch (Exception e){
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MensajeErrorResponse(e.getMessage()));
+            return errorInterno("listar", e);
+        }
+    }
+
+    // Se escribe directo en la respuesta desde un hilo asíncrono; el tiempo máximo aplica solo a esta descarga
+    @GetMapping(value = "/exportar", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> exportarUsuarios(HttpServletResponse response) {
+        return new WebAsyncTask<>(tiempoMaximoExportacion, () -> {
+            response.setContentType("application/x-ndjson");
+            usuarioService.exportar(response.getOutputStream());
+            return null;
+        });
+    }
+
+    @GetMapping("/por-telefono")
+    public ResponseEntity<?> findByTelefono(@RequestParam String codigoPais,
+                                            @RequestParam String codigoCiudad,
+                                            @RequestParam String numero) {
+        try {
+            List<UsuarioVista> usuarios = usuarioService.findByTelefono(codigoPais, codigoCiudad, numero);
+            if (usuarios.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MensajeErrorResponse("No se encontraron usuarios con ese teléfono"));
+            }
+            return ResponseEntity.ok(usuarios);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MensajeErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return errorInterno("por-telefono", e);
+        }
+    }
+
+    @GetMapping("/buscar")
+    public ResponseEntity<?> buscarUsuarios(@RequestParam("q") String consulta,
+                                            @RequestParam(required = false) Integer limite) {
+        try {
+            List<ResultadoBusqueda> resultados = usuarioService.buscar(consulta, limite);
+            return ResponseEntity.ok(resultados);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MensajeErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return errorInterno("buscar", e);
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> findByIdUsuario(@PathVariable String id) {
+    public ResponseEntity<?> findByIdUsuario(@PathVariable String id,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            Usuario usuario = usuarioService.findById(id);
+            // El JSON sale ya serializado desde la cache de respuestas, junto con la versión que responde If-None-Match
+            UsuarioJson usuario = usuarioService.findJsonById(id);
             if (usuario == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MensajeErrorResponse("Usuario no encontrado con el id: " + id));
             }
-            return ResponseEntity.ok(usuario);
+            if (ifNoneMatch != null && coincideEtag(ifNoneMatch, usuario.version())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(usuario.version())).build();
+            }
+            return okConVersion(usuario.version()).contentType(MediaType.APPLICATION_JSON).body(usuario.json());
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MensajeErrorResponse(e.getMessage()));
+            return errorInterno("obtener", e);
         }
     }
 
     @PostMapping
-    public ResponseEntity<?> createUsuario(@Valid @RequestBody Usuario usuario) {
+    public ResponseEntity<?> createUsuario(@Valid @RequestBody Usuario usuario,
+                                           @RequestHeader(value = RegistrosIdempotentes.CABECERA, required = false) String claveIdempotencia) {
         try {
-            UsuarioResponse response = usuarioService.save(usuario);
+            UsuarioResponse response;
+            boolean repetida = false;
+            if (claveIdempotencia == null) {
+                response = usuarioService.save(usuario);
+            } else {
+                RegistrosIdempotentes.Resultado resultado = registrosIdempotentes.registrar(
+                        claveIdempotencia, usuario, () -> usuarioService.save(usuario));
+                response = resultado.respuesta();
+                repetida = resultado.repetida();
+            }
             if (response == null) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MensajeErrorResponse("Error al crear el usuario"));
             }
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            ResponseEntity.BodyBuilder creado = ResponseEntity.status(HttpStatus.CREATED);
+            if (repetida) {
+                creado.header("Idempotent-Replayed", "true");
+            }
+            return creado.body(response);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MensajeErrorResponse(e.getMessage()));
+            return errorInterno("crear", e);
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createUsuariosBatch(@RequestBody List<Usuario> usuarios) {
+        try {
+            List<ResultadoLoteResponse> resultados = usuarioService.saveAll(usuarios);
+            boolean todosCreados = resultados.stream().allMatch(ResultadoLoteResponse::isCreado);
+            return ResponseEntity.status(todosCreados ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(resultados);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MensajeErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return errorInterno("crear-lote", e);
+        }
+    }
+
+    // PUT y PATCH no usan @Valid: la contraseña (y en PATCH cualquier campo) puede omitirse.
+    // El servicio aplica las mismas restricciones de Usuario a los campos recibidos
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateUsuario(@PathVariable String id, @Valid @RequestBody Usuario usuario) {
+    public ResponseEntity<?> updateUsuario(@PathVariable String id, @RequestBody Usuario usuario,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
+            if (ifMatch != null && !ifMatch.trim().equals("*")) {
+                Long versionEsperada = versionDe(ifMatch);
+                if (versionEsperada == null) {
+                    return precondicionFallida();
+                }
+                usuario.setVersion(versionEsperada);
+            }
             Usuario usuarioActualizado = usuarioService.update(id, usuario);
             if (usuarioActualizado == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MensajeErrorResponse("Usuario no encontrado con el id: " + id));
             }
-            return ResponseEntity.ok(usuarioActualizado);
+            return okConVersion(usuarioActualizado.getVersion()).body(usuarioActualizado);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MensajeErrorResponse(e.getMessage()));
+            if (esConflictoDeVersion(e)) {
+                return conflictoDeVersion(ifMatch);
+            }
+            return errorInterno("actualizar", e);
         }
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<?> parcialUpdateUsuario(@PathVariable String id,@Valid @RequestBody Usuario usuario) {
+    public ResponseEntity<?> parcialUpdateUsuario(@PathVariable String id, @RequestBody Usuario usuario,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
+            if (ifMatch != null && !ifMatch.trim().equals("*")) {
+                Long versionEsperada = versionDe(ifMatch);
+                if (versionEsperada == null) {
+                    return precondicionFallida();
+                }
+                usuario.setVersion(versionEsperada);
+            }
             Usuario usuarioActualizado = usuarioService.parcialUpdate(id, usuario);
             if (usuarioActualizado == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MensajeErrorResponse("Usuario no encontrado con el id: " + id));
             }
-            return ResponseEntity.ok(usuarioActualizado);
+            return okConVersion(usuarioActualizado.getVersion()).body(usuarioActualizado);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MensajeErrorResponse(e.getMessage()));
+            if (esConflictoDeVersion(e)) {
+                return conflictoDeVersion(ifMatch);
+            }
+            return errorInterno("actualizar-parcial", e);
         }
     }
 
@@ -92,9 +212,78 @@ public class UsuarioController {
             usuarioService.delete(id);
             return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MensajeErrorResponse(e.getMessage()));
+            return errorInterno("eliminar", e);
         }
     }
-}
 
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static ResponseEntity.BodyBuilder okConVersion(Long version) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        return version == null ? respuesta : respuesta.eTag(etag(version));
+    }
 
+    // Comparación débil de If-None-Match: acepta una lista de ETags, "*" y el prefijo W/
+    private static boolean coincideEtag(String cabecera, long version) {
+        String actual = etag(version);
+        for (String valor : cabecera.split(",")) {
+            String etag = valor.trim();
+            if (etag.startsWith("W/")) {
+                etag = etag.substring(2);
+            }
+            if (etag.equals("*") || etag.equals(actual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Match usa comparación fuerte: solo un ETag propio sin W/; cualquier otro valor no coincide
+    private static Long versionDe(String ifMatch) {
+        String etag = ifMatch.trim();
+        if (etag.length() < 3 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // La versión esperada no coincidió o la fila cambió antes del commit (@Version)
+    private static boolean esConflictoDeVersion(Throwable e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof OptimisticLockingFailureException || causa instanceof OptimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<?> precondicionFallida() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(new MensajeErrorResponse("El usuario fue modificado por otra petición; vuelva a consultarlo."));
+    }
+
+    // 412 solo si la petición trajo una versión en If-Match; sin ella (o con "*") el cambio concurrente es un 409
+    private static ResponseEntity<?> conflictoDeVersion(String ifMatch) {
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            return precondicionFallida();
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new MensajeErrorResponse("El usuario fue modificado por otra petición al mismo tiempo; vuelva a intentarlo."));
+    }
+
+    // Respuesta 500 común; cuenta el error por endpoint y tipo de excepción.
+    // Los errores esperados del dominio se relanzan para que ManejadorErrores responda 404, 409, 422, 400 o 503
+    private ResponseEntity<?> errorInterno(String endpoint, Exception e) {
+        if (e instanceof ErrorDominio esperado) {
+            throw esperado;
+        }
+        Metrics.counter("usuarios.errores", "endpoint", endpoint, "excepcion", e.getClass().getSimpleName()).increment();
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MensajeErrorResponse(e.getMessage()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.backend.servicio.usuarios.dto;
+
+import java.util.List;
+
+public class PaginaResponse<T> {
+    private List<T> elementos;
+    // Cursor opaco para pedir la página siguiente, null si es la última
+    private String siguiente;
+
+    public PaginaResponse() {
+
+    }
+
+    public PaginaResponse(List<T> elementos, String siguiente) {
+        this.elementos = elementos;
+        this.siguiente = siguiente;
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public void setElementos(List<T> elementos) {
+        this.elementos = elementos;
+    }
+
+    public String getSiguiente() {
+        return siguiente;
+    }
+
+    public void setSiguiente(String siguiente) {
+        this.siguiente = siguiente;
+    }
+}
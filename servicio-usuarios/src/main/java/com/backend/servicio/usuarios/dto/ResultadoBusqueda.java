@@ -0,0 +1,7 @@
+package com.backend.servicio.usuarios.dto;
+
+/**
+ * Usuario encontrado por la búsqueda de texto, con su puntaje (mayor es mejor).
+ */
+public record ResultadoBusqueda(String id, String nombre, String correo, float puntaje) {
+}
@@ -0,0 +1,61 @@
+package com.backend.servicio.usuarios.dto;
+
+public class ResultadoLoteResponse {
+    private int indice;
+    private String correo;
+    private boolean creado;
+    private UsuarioResponse usuario;
+    private String mensaje;
+
+    public ResultadoLoteResponse() {
+
+    }
+
+    public ResultadoLoteResponse(int indice, String correo, boolean creado, UsuarioResponse usuario, String mensaje) {
+        this.indice = indice;
+        this.correo = correo;
+        this.creado = creado;
+        this.usuario = usuario;
+        this.mensaje = mensaje;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public String getCorreo() {
+        return correo;
+    }
+
+    public void setCorreo(String correo) {
+        this.correo = correo;
+    }
+
+    public boolean isCreado() {
+        return creado;
+    }
+
+    public void setCreado(boolean creado) {
+        this.creado = creado;
+    }
+
+    public UsuarioResponse getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(UsuarioResponse usuario) {
+        this.usuario = usuario;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+}
@@ -0,0 +1,6 @@
+package com.backend.servicio.usuarios.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public record TelefonoVista(@JsonIgnore String usuarioId, String id, String numero, String codigoCiudad, String codigoPais) {
+}
@@ -0,0 +1,7 @@
+package com.backend.servicio.usuarios.dto;
+
+/**
+ * JSON ya serializado de un usuario junto con la versión de la que se generó.
+ */
+public record UsuarioJson(long version, byte[] json) {
+}
@@ -0,0 +1,7 @@
+package com.backend.servicio.usuarios.dto;
+
+/**
+ * Id, nombre y correo de un usuario; lo que necesita el índice de búsqueda.
+ */
+public record UsuarioResumen(String id, String nombre, String correo) {
+}
@@ -0,0 +1,25 @@
+package com.backend.servicio.usuarios.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Vista de solo lectura de un usuario, leída con expresiones constructoras JPQL sin crear entidades.
+ * Produce el mismo JSON que la entidad Usuario (sin contraseña ni token); la versión viaja en el ETag.
+ */
+public record UsuarioVista(String id, String nombre, String correo, List<TelefonoVista> telefonos,
+                           LocalDateTime creado, LocalDateTime modificado, LocalDateTime ultimoLogin, Boolean activo,
+                           @JsonIgnore Long version) {
+
+    // Constructor usado por las consultas JPQL; los teléfonos se agregan después con conTelefonos
+    public UsuarioVista(String id, String nombre, String correo, LocalDateTime creado, LocalDateTime modificado,
+                        LocalDateTime ultimoLogin, Boolean activo, Long version) {
+        this(id, nombre, correo, List.of(), creado, modificado, ultimoLogin, activo, version);
+    }
+
+    public UsuarioVista conTelefonos(List<TelefonoVista> telefonos) {
+        return new UsuarioVista(id, nombre, correo, List.copyOf(telefonos), creado, modificado, ultimoLogin, activo, version);
+    }
+}
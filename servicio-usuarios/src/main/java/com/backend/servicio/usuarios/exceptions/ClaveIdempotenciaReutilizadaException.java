@@ -0,0 +1,8 @@
+package com.backend.servicio.usuarios.exceptions;
+
+public class ClaveIdempotenciaReutilizadaException extends ErrorDominio {
+
+    public ClaveIdempotenciaReutilizadaException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,8 @@
+package com.backend.servicio.usuarios.exceptions;
+
+public class CorreoRegistradoException extends ErrorDominio {
+
+    public CorreoRegistradoException(String mensaje) {
+        super(mensaje);
+    }
+}
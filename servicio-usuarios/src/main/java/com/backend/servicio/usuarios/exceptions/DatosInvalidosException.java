@@ -0,0 +1,8 @@
+package com.backend.servicio.usuarios.exceptions;
+
+public class DatosInvalidosException extends ErrorDominio {
+
+    public DatosInvalidosException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,14 @@
+package com.backend.servicio.usuarios.exceptions;
+
+/**
+ * Resultado esperado del dominio (usuario inexistente, correo registrado, datos inválidos) que se informa
+ * como excepción y que ManejadorErrores convierte en 404, 409, 422, 400 o 503. No captura la traza de pila ni admite
+ * excepciones suprimidas: crearla cuesta lo mismo que cualquier objeto pequeño, y las de mensaje fijo se
+ * pueden preasignar y compartir entre hilos.
+ */
+public abstract class ErrorDominio extends RuntimeException {
+
+    protected ErrorDominio(String mensaje) {
+        super(mensaje, null, false, false);
+    }
+}
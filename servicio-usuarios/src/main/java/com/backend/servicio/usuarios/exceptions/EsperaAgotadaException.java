@@ -0,0 +1,8 @@
+package com.backend.servicio.usuarios.exceptions;
+
+public class EsperaAgotadaException extends ErrorDominio {
+
+    public EsperaAgotadaException(String mensaje) {
+        super(mensaje);
+    }
+}
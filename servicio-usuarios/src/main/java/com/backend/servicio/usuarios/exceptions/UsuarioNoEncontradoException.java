@@ -0,0 +1,8 @@
+package com.backend.servicio.usuarios.exceptions;
+
+public class UsuarioNoEncontradoException extends ErrorDominio {
+
+    public UsuarioNoEncontradoException(String id) {
+        super("Usuario no encontrado con el id: " + id);
+    }
+}
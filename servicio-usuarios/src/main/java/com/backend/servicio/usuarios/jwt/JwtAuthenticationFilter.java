@@ -1,13 +1,24 @@
 package com.backend.servicio.usuarios.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
@@ -20,44 +31,85 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Collections;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class JwtAuthenticationFilter extends OncePerRequestFilter {
+public class JwtAuthenticationFilter extends OncePerRequestFilter implements MeterBinder {
     // Clave secreta para firmar y validar el JWT (en producción, usa una clave segura y almacénala bien)
     private static final Key SECRET_KEY = Keys.hmacShaKeyFor("mi_clave_super_secreta_1234567890123456".getBytes(StandardCharsets.UTF_8));
     private static final long EXPIRATION_TIME = 86400000; // 1 día en milisegundos
+    // El parser es inmutable y seguro entre hilos, se construye una sola vez
+    private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
+    // Los métodos son estáticos, por eso los timers se registran en el registro global que Spring Boot alimenta
+    private static final Timer TIEMPO_FIRMA = Timer.builder("usuarios.jwt")
+            .description("Tiempo de firma y verificación de tokens JWT")
+            .tag("operacion", "firmar")
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry);
+    private static final Timer TIEMPO_VERIFICACION = Timer.builder("usuarios.jwt")
+            .description("Tiempo de firma y verificación de tokens JWT")
+            .tag("operacion", "verificar")
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry);
+
+    // Tokens con firma ya verificada; cada entrada vence junto con la expiración del propio token
+    private final Cache<String, TokenVerificado> tokensVerificados;
+
+    public JwtAuthenticationFilter(@Value("${jwt.cache.tamano-maximo:10000}") long tamanoMaximoCache) {
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximoCache)
+                .expireAfter(new ExpiracionDelToken())
+                .recordStats()
+                .build();
+    }
 
     public static String generateToken(String username) {
-        return Jwts.builder()
+        return TIEMPO_FIRMA.record(() -> Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(SECRET_KEY, SignatureAlgorithm.HS256)
-                .compact();
+                .compact());
     }
 
-    private boolean validateToken(String token) {
+    // Verifica firma y expiración con un único parseo; devuelve null si el token no es válido
+    public static Claims verificarToken(String token) {
+        Timer.Sample muestra = Timer.start();
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.getExpiration().after(new Date());
+            Claims claims = PARSER.parseClaimsJws(token).getBody();
+            return claims.getExpiration().after(new Date()) ? claims : null;
         } catch (Exception e) {
-            return false;
+            return null;
+        } finally {
+            muestra.stop(TIEMPO_VERIFICACION);
         }
     }
 
-    private String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Devuelve el usuario del token, evitando verificar de nuevo la firma de tokens ya vistos.
+    // La verificación se hace fuera de la cache (getIfPresent/put, sin get con función de carga)
+    // para no retener locks internos ni fijar hilos virtuales mientras se calcula el HMAC
+    public String autenticar(String token) {
+        TokenVerificado verificado = tokensVerificados.getIfPresent(token);
+        if (verificado != null) {
+            return verificado.usuario();
+        }
+        Claims claims = verificarToken(token);
+        if (claims == null) {
+            return null;
+        }
+        tokensVerificados.put(token, new TokenVerificado(claims.getSubject(), claims.getExpiration().getTime()));
         return claims.getSubject();
     }
 
+    public CacheStats estadisticasCache() {
+        return tokensVerificados.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tokensVerificados, "jwt.tokens");
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -65,8 +117,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String jwt = authHeader.substring(7);
-            if (validateToken(jwt)) {
-                String username = getUsernameFromToken(jwt);
+            String username = autenticar(jwt);
+            if (username != null) {
                 User user = new User(username, "", Collections.emptyList());
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         user, null, user.getAuthorities());
@@ -76,4 +128,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    // La sesión es stateless: el despacho asíncrono que termina una respuesta (la exportación NDJSON)
+    // no hereda la autenticación y debe volver a leer el token, que ya está en la cache
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private record TokenVerificado(String usuario, long expiracion) {
+    }
+
+    private static class ExpiracionDelToken implements Expiry<String, TokenVerificado> {
+        @Override
+        public long expireAfterCreate(String token, TokenVerificado verificado, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, verificado.expiracion() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, TokenVerificado verificado, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verificado, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, TokenVerificado verificado, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package com.backend.servicio.usuarios.metrics;
+
+/**
+ * Cuenta las sentencias SQL ejecutadas por el hilo actual entre iniciar() y detener().
+ * Lo alimenta DataSourceInstrumentado y lo usa MetricasSentenciasFilter para medir cada petición.
+ */
+public final class ContadorSentenciasSql {
+
+    private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+    private ContadorSentenciasSql() {
+    }
+
+    public static void iniciar() {
+        CONTADOR.set(new int[1]);
+    }
+
+    public static int detener() {
+        int[] contador = CONTADOR.get();
+        CONTADOR.remove();
+        return contador == null ? 0 : contador[0];
+    }
+
+    static void incrementar() {
+        int[] contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.backend.servicio.usuarios.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Envuelve el DataSource para contar en ContadorSentenciasSql cada ejecución de sentencia (execute*),
+ * no cada preparación: una sentencia reutilizada cuenta tantas veces como se ejecuta y un batch JDBC
+ * cuenta como un solo viaje a la base.
+ * Reemplaza al bean del pool, así que también lo cierra al apagar el contexto.
+ */
+public class DataSourceInstrumentado extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Set<String> EJECUCIONES = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeBatch", "executeLargeUpdate", "executeLargeBatch");
+
+    public DataSourceInstrumentado(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrumentar(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrumentar(super.getConnection(username, password));
+    }
+
+    // Spring infiere close() como método de destrucción del envoltorio; sin esto el pool de Hikari no se cerraba
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private static Connection instrumentar(Connection conexion) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    Object resultado = invocar(conexion, metodo, argumentos);
+                    // createStatement, prepareStatement y prepareCall: se envuelve la sentencia con su interfaz
+                    Class<?> tipo = metodo.getReturnType();
+                    if (resultado instanceof Statement sentencia && Statement.class.isAssignableFrom(tipo)) {
+                        return instrumentar(sentencia, tipo);
+                    }
+                    return resultado;
+                });
+    }
+
+    private static Object instrumentar(Statement sentencia, Class<?> tipo) {
+        return Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, argumentos) -> {
+                    if (EJECUCIONES.contains(metodo.getName())) {
+                        ContadorSentenciasSql.incrementar();
+                    }
+                    return invocar(sentencia, metodo, argumentos);
+                });
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(destino, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
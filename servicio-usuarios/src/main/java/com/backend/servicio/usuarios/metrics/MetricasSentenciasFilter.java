@@ -0,0 +1,47 @@
+package com.backend.servicio.usuarios.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra cuántas sentencias SQL ejecutó cada petición, por método y patrón de URI.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class MetricasSentenciasFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricasSentenciasFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorSentenciasSql.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int sentencias = ContadorSentenciasSql.detener();
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("usuarios.sql.sentencias")
+                    .description("Sentencias SQL ejecutadas por petición")
+                    .tag("metodo", request.getMethod())
+                    .tag("uri", patron != null ? patron.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(sentencias);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.backend.servicio.usuarios.models.entity;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Genera identificadores UUID versión 7: los 48 bits altos son el instante en milisegundos,
+ * por lo que los ids nuevos quedan ordenados por tiempo y se insertan al final del índice primario
+ * en lugar de repartirse por todo el árbol como los UUID aleatorios.
+ * Dentro del mismo milisegundo los 12 bits siguientes actúan como secuencia, así que los ids
+ * generados por esta JVM son estrictamente crecientes.
+ */
+public final class IdentificadorOrdenado {
+
+    // Milisegundos desplazados 12 bits más la secuencia dentro del milisegundo
+    private static final AtomicLong ULTIMO = new AtomicLong();
+
+    private IdentificadorOrdenado() {
+    }
+
+    public static String nuevo() {
+        return nuevoUuid().toString();
+    }
+
+    public static UUID nuevoUuid() {
+        long ahora = System.currentTimeMillis() << 12;
+        // Si la secuencia se agota dentro de un milisegundo se toma prestado el siguiente
+        long marca = ULTIMO.updateAndGet(anterior -> Math.max(anterior + 1, ahora));
+        long alto = ((marca >>> 12) << 16) | 0x7000L | (marca & 0xFFFL);
+        long bajo = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(alto, bajo);
+    }
+}
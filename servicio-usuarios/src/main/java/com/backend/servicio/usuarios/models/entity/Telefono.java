@@ -2,27 +2,37 @@ package com.backend.servicio.usuarios.models.entity;
 
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 @Entity
 @Table(name = "telefonos")
 public class Telefono implements Serializable {
+    // Un valor en blanco lo rechaza @NotBlank; @Pattern solo rechaza el texto sin ningún dígito
+    private static final String SOLO_DIGITOS = "\\s*|\\d+";
+
+    // Id UUIDv7 ordenado por tiempo, guardado como UUID nativo y expuesto como texto
     @Id
-    @Column(name = "id", columnDefinition = "VARCHAR(36)")
+    @Column(name = "id", columnDefinition = "UUID")
+    @Convert(converter = UuidTextoConverter.class)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private String id;
 
     @NotBlank (message = "El número de teléfono es requerido")
+    @Pattern(regexp = SOLO_DIGITOS, message = "El número de teléfono debe contener dígitos")
     @Column(name = "numero")
     private String numero;
 
     @NotBlank (message = "El código de ciudad es requerido")
+    @Pattern(regexp = SOLO_DIGITOS, message = "El código de ciudad debe contener dígitos")
     @Column(name = "codigo_ciudad")
     private String codigoCiudad;
 
     @NotBlank (message = "El código de país es requerido")
+    @Pattern(regexp = SOLO_DIGITOS, message = "El código de país debe contener dígitos")
     @Column(name = "codigo_pais")
     private String codigoPais;
 
@@ -32,14 +42,36 @@ public class Telefono implements Serializable {
     private Usuario usuario;
 
     public Telefono() {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdentificadorOrdenado.nuevo();
     }
 
     public Telefono(String numero, String codigoCiudad, String codigoPais) {
-        this.id = UUID.randomUUID().toString();
-        this.numero = numero;
-        this.codigoCiudad = codigoCiudad;
-        this.codigoPais = codigoPais;
+        this.id = IdentificadorOrdenado.nuevo();
+        this.numero = soloDigitos(numero);
+        this.codigoCiudad = soloDigitos(codigoCiudad);
+        this.codigoPais = soloDigitos(codigoPais);
+    }
+
+    // Se guardan solo los dígitos: "+57", "(1)" y "123-4567" quedan como "57", "1" y "1234567", igual que
+    // la clave de la búsqueda por teléfono, y así se devuelven en las respuestas
+    public static String normalizar(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(valor.length());
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    // Un valor sin ningún dígito se conserva tal cual para que la validación lo rechace con su mensaje
+    private static String soloDigitos(String valor) {
+        String digitos = normalizar(valor);
+        return digitos == null || digitos.isEmpty() ? valor : digitos;
     }
 
     // Getters and Setters
@@ -56,7 +88,7 @@ public class Telefono implements Serializable {
     }
 
     public void setNumero(String numero) {
-        this.numero = numero;
+        this.numero = soloDigitos(numero);
     }
 
     public String getCodigoCiudad() {
@@ -64,7 +96,7 @@ public class Telefono implements Serializable {
     }
 
     public void setCodigoCiudad(String codigoCiudad) {
-        this.codigoCiudad = codigoCiudad;
+        this.codigoCiudad = soloDigitos(codigoCiudad);
     }
 
     public String getCodigoPais() {
@@ -72,7 +104,7 @@ public class Telefono implements Serializable {
     }
 
     public void setCodigoPais(String codigoPais) {
-        this.codigoPais = codigoPais;
+        this.codigoPais = soloDigitos(codigoPais);
     }
 
     public Usuario getUsuario() {
@@ -1,24 +1,33 @@
 package com.backend.servicio.usuarios.models.entity;
 
+import com.backend.servicio.usuarios.validation.ContrasenaValida;
+import com.backend.servicio.usuarios.validation.CorreoValido;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
 
 @Entity
-@Table(name = "usuarios")
+@Table(name = "usuarios", uniqueConstraints = @UniqueConstraint(name = "uk_usuarios_correo", columnNames = "correo"))
 public class Usuario implements Serializable {
+    // Id UUIDv7 ordenado por tiempo, guardado como UUID nativo y expuesto como texto
     @Id
-    @Column(name = "id", columnDefinition = "VARCHAR(36)")
+    @Column(name = "id", columnDefinition = "UUID")
+    @Convert(converter = UuidTextoConverter.class)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private String id;
 
     @NotBlank(message = "El nombre es requerido")
@@ -26,16 +35,21 @@ public class Usuario implements Serializable {
     private String nombre;
 
     @NotBlank(message = "El correo es requerido")
-    @Email(message = "El formato del correo electronico no es válido")
-    @Column(name = "correo", nullable = false, unique = true)
+    @CorreoValido
+    @Column(name = "correo", nullable = false)
     private String correo;
 
     @NotBlank(message = "La contraseña es requerido")
+    @ContrasenaValida
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(name = "contrasena", nullable = false)
     private String contrasena;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "usuario")
+    // Al acceder a los teléfonos de un usuario se cargan los de todos los usuarios de la misma consulta
+    // con un único SELECT ... WHERE usuario_id IN (...), en lugar de una consulta por usuario.
+    // Un teléfono quitado de la lista se elimina de la tabla (orphanRemoval)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "usuario", orphanRemoval = true)
+    @BatchFetch(value = BatchFetchType.IN, size = 256)
     @Valid
     private List<Telefono> telefonos;
 
@@ -55,13 +69,24 @@ public class Usuario implements Serializable {
     @Column(name = "activo", nullable = false)
     private Boolean activo = true;
 
+    // Bloqueo optimista: cada UPDATE incrementa la versión, que también se expone como ETag
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonIgnore
+    private Long version;
+
+    // Eliminación lógica: con fecha el usuario deja de leerse y la purga lo borra físicamente después
+    @Column(name = "eliminado")
+    @JsonIgnore
+    private LocalDateTime eliminado;
+
     public Usuario() {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdentificadorOrdenado.nuevo();
         this.telefonos = new ArrayList<>();
     }
 
     public Usuario(String nombre, String correo, String contrasena, List<Telefono> telefonos) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdentificadorOrdenado.nuevo();
         this.nombre = nombre;
         this.correo = correo;
         this.contrasena = contrasena;
@@ -150,6 +175,22 @@ public class Usuario implements Serializable {
         this.activo = activo;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getEliminado() {
+        return eliminado;
+    }
+
+    public void setEliminado(LocalDateTime eliminado) {
+        this.eliminado = eliminado;
+    }
+
     public void setTelefonos(List<Telefono> telefonos) {
         this.telefonos = telefonos;
 
@@ -175,4 +216,37 @@ public class Usuario implements Serializable {
         telefono.setUsuario(this);
     }
 
+    // Sincroniza los teléfonos comparando por (codigoPais, codigoCiudad, numero): los que ya existen conservan
+    // su fila, solo se agregan los nuevos y, si eliminarAusentes, se quitan los que no vienen en la lista.
+    // Los duplicados guardados previamente se eliminan. Los INSERT y DELETE resultantes salen en el
+    // batch writing de EclipseLink al hacer commit
+    public void sincronizarTelefonos(List<Telefono> deseados, boolean eliminarAusentes) {
+        Map<ClaveTelefono, Telefono> actuales = new HashMap<>();
+        Iterator<Telefono> iterador = this.telefonos.iterator();
+        while (iterador.hasNext()) {
+            Telefono telefono = iterador.next();
+            if (actuales.putIfAbsent(ClaveTelefono.de(telefono), telefono) != null) {
+                iterador.remove();
+            }
+        }
+
+        Set<ClaveTelefono> claves = new HashSet<>();
+        for (Telefono telefono : deseados) {
+            ClaveTelefono clave = ClaveTelefono.de(telefono);
+            if (claves.add(clave) && !actuales.containsKey(clave)) {
+                addTelefono(telefono);
+            }
+        }
+
+        if (eliminarAusentes) {
+            this.telefonos.removeIf(telefono -> !claves.contains(ClaveTelefono.de(telefono)));
+        }
+    }
+
+    private record ClaveTelefono(String codigoPais, String codigoCiudad, String numero) {
+        static ClaveTelefono de(Telefono telefono) {
+            return new ClaveTelefono(telefono.getCodigoPais(), telefono.getCodigoCiudad(), telefono.getNumero());
+        }
+    }
+
 }
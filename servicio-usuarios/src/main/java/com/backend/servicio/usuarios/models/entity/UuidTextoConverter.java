@@ -0,0 +1,35 @@
+package com.backend.servicio.usuarios.models.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.UUID;
+
+/**
+ * Guarda en columnas UUID (16 bytes) los ids que la aplicación maneja como texto.
+ * El formato externo del id no cambia: sigue siendo el UUID en texto de 36 caracteres.
+ * Es un AttributeConverter estándar de JPA, sin dependencias del proveedor.
+ */
+@Converter
+public class UuidTextoConverter implements AttributeConverter<String, UUID> {
+
+    // Nunca lo genera la aplicación; un id mal formado se busca como este valor y simplemente no se encuentra
+    private static final UUID NULO = new UUID(0, 0);
+
+    @Override
+    public UUID convertToDatabaseColumn(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return NULO;
+        }
+    }
+
+    @Override
+    public String convertToEntityAttribute(UUID valor) {
+        return valor == null ? null : valor.toString();
+    }
+}
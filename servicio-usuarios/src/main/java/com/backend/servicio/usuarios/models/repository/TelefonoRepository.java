@@ -1,10 +1,26 @@
 package com.backend.servicio.usuarios.models.repository;
 
+import com.backend.servicio.usuarios.dto.TelefonoVista;
 import com.backend.servicio.usuarios.models.entity.Telefono;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface TelefonoRepository extends JpaRepository<Telefono,String> {
+
+    @Query("SELECT new com.backend.servicio.usuarios.dto.TelefonoVista(t.usuario.id, t.id, t.numero, t.codigoCiudad, t.codigoPais) " +
+            "FROM Telefono t WHERE t.usuario.id IN :usuarioIds")
+    List<TelefonoVista> findVistasByUsuarioIds(@Param("usuarioIds") Collection<String> usuarioIds);
+
+    // Búsqueda inversa resuelta solo con el índice idx_telefonos_numero (incluye usuario_id)
+    @Query("SELECT DISTINCT t.usuario.id FROM Telefono t " +
+            "WHERE t.codigoPais = :codigoPais AND t.codigoCiudad = :codigoCiudad AND t.numero = :numero")
+    List<String> findUsuarioIdsByNumero(@Param("codigoPais") String codigoPais,
+                                        @Param("codigoCiudad") String codigoCiudad,
+                                        @Param("numero") String numero);
 }
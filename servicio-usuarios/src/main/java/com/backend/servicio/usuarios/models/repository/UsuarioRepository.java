@@ -1,15 +1,59 @@
 package com.backend.servicio.usuarios.models.repository;
 
+import com.backend.servicio.usuarios.dto.UsuarioResumen;
+import com.backend.servicio.usuarios.dto.UsuarioVista;
 import com.backend.servicio.usuarios.models.entity.Usuario;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, String> {
-    Optional<Usuario> findByCorreo(String correo);
+public interface UsuarioRepository extends JpaRepository<Usuario, String>, UsuarioRepositoryCustom {
+    // Las lecturas excluyen a los usuarios eliminados lógicamente (eliminado IS NOT NULL)
+    @Query("SELECT u FROM Usuario u WHERE u.id = :id AND u.eliminado IS NULL")
+    Optional<Usuario> findVigenteById(@Param("id") String id);
+
+    @Query("SELECT u.id FROM Usuario u WHERE u.correo = :correo AND u.eliminado IS NULL")
+    Optional<String> findIdByCorreo(@Param("correo") String correo);
+
+    // El correo de un usuario eliminado sigue reservado hasta la purga, por eso estas consultas no lo excluyen
     boolean existsByCorreo(String correo);
-}
\ No newline at end of file
+
+    @Query("SELECT u.correo FROM Usuario u WHERE u.correo IN :correos")
+    List<String> findCorreosExistentes(@Param("correos") Collection<String> correos);
+
+    @Query("SELECT u.correo FROM Usuario u")
+    Stream<String> streamCorreos();
+
+    @Query("SELECT new com.backend.servicio.usuarios.dto.UsuarioResumen(u.id, u.nombre, u.correo) FROM Usuario u WHERE u.eliminado IS NULL")
+    Stream<UsuarioResumen> streamResumenes();
+
+    // Lecturas de solo lectura que no crean entidades ni leen contraseña y token.
+    // Paginación por keyset sobre la clave primaria: cada página es un rango del índice, sin OFFSET
+    @Query("SELECT new com.backend.servicio.usuarios.dto.UsuarioVista(u.id, u.nombre, u.correo, u.creado, u.modificado, u.ultimoLogin, u.activo, u.version) " +
+            "FROM Usuario u WHERE u.id = :id AND u.eliminado IS NULL")
+    Optional<UsuarioVista> findVistaById(@Param("id") String id);
+
+    @Query("SELECT new com.backend.servicio.usuarios.dto.UsuarioVista(u.id, u.nombre, u.correo, u.creado, u.modificado, u.ultimoLogin, u.activo, u.version) " +
+            "FROM Usuario u WHERE u.eliminado IS NULL ORDER BY u.id")
+    List<UsuarioVista> findVistas(Limit limit);
+
+    @Query("SELECT new com.backend.servicio.usuarios.dto.UsuarioVista(u.id, u.nombre, u.correo, u.creado, u.modificado, u.ultimoLogin, u.activo, u.version) " +
+            "FROM Usuario u WHERE u.id > :id AND u.eliminado IS NULL ORDER BY u.id")
+    List<UsuarioVista> findVistasDespuesDe(@Param("id") String id, Limit limit);
+
+    // Eliminación lógica en una sola sentencia; la versión cambia para invalidar los ETag emitidos
+    @Modifying
+    @Query("UPDATE Usuario u SET u.eliminado = :ahora, u.activo = false, u.version = u.version + 1 " +
+            "WHERE u.id = :id AND u.eliminado IS NULL")
+    int marcarEliminado(@Param("id") String id, @Param("ahora") LocalDateTime ahora);
+}
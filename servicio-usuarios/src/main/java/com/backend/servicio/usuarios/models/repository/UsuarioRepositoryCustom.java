@@ -0,0 +1,16 @@
+package com.backend.servicio.usuarios.models.repository;
+
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface UsuarioRepositoryCustom {
+    // Recorre las vistas de todos los usuarios (sin teléfonos) con un cursor del lado del servidor;
+    // el Stream debe cerrarse
+    Stream<UsuarioVista> streamVistas(int tamanoLote);
+
+    // Inserta usuarios nuevos con persist (sin el SELECT previo de merge) para aprovechar el batch writing
+    void persistAll(List<Usuario> usuarios, int tamanoLote);
+}
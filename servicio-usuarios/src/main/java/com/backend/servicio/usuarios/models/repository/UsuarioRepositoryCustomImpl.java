@@ -0,0 +1,69 @@
+package com.backend.servicio.usuarios.models.repository;
+
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.queries.CursoredStream;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<UsuarioVista> streamVistas(int tamanoLote) {
+        // Expresión constructora: las filas no se convierten en entidades ni entran al contexto de persistencia
+        Query query = entityManager.createQuery("SELECT new com.backend.servicio.usuarios.dto.UsuarioVista("
+                        + "u.id, u.nombre, u.correo, u.creado, u.modificado, u.ultimoLogin, u.activo, u.version) "
+                        + "FROM Usuario u WHERE u.eliminado IS NULL ORDER BY u.id")
+                .setHint(QueryHints.CURSOR, HintValues.TRUE)
+                .setHint(QueryHints.CURSOR_PAGE_SIZE, tamanoLote)
+                .setHint(QueryHints.JDBC_FETCH_SIZE, tamanoLote);
+        CursoredStream cursor = (CursoredStream) query.getSingleResult();
+
+        Iterator<UsuarioVista> iterador = new Iterator<>() {
+            private long leidos;
+
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public UsuarioVista next() {
+                // Al pedir la fila siguiente las anteriores ya fueron consumidas: el cursor las suelta cada tamanoLote filas
+                if (leidos > 0 && leidos % tamanoLote == 0) {
+                    cursor.clear();
+                }
+                leidos++;
+                return (UsuarioVista) cursor.next();
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterador, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close);
+    }
+
+    @Override
+    public void persistAll(List<Usuario> usuarios, int tamanoLote) {
+        for (int i = 0; i < usuarios.size(); i++) {
+            entityManager.persist(usuarios.get(i));
+            // Cada flush envía los INSERT de usuarios y teléfonos acumulados como un batch JDBC
+            if ((i + 1) % tamanoLote == 0) {
+                entityManager.flush();
+            }
+        }
+        entityManager.flush();
+    }
+}
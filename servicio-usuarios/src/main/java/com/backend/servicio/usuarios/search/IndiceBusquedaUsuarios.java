@@ -0,0 +1,496 @@
+package com.backend.servicio.usuarios.search;
+
+import com.backend.servicio.usuarios.dto.ResultadoBusqueda;
+import com.backend.servicio.usuarios.dto.UsuarioResumen;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido en memoria sobre nombre y correo para buscar usuarios por texto parcial.
+ * Los textos se normalizan (minúsculas, sin tildes) y se dividen en términos; cada término apunta a los
+ * usuarios que lo contienen. Cada palabra de la consulta se compara contra los términos por coincidencia
+ * exacta, por prefijo (un rango del TreeMap) y, si no hubo ninguna de esas, de forma aproximada
+ * (trigramas de los términos y distancia de edición). Un usuario debe coincidir con todas las palabras;
+ * se devuelven los K de mayor puntaje.
+ * Modificar o eliminar un usuario deja su documento anterior obsoleto: se descarta al consultar y
+ * el índice se compacta cuando los obsoletos superan el umbral configurado.
+ */
+@Component
+public class IndiceBusquedaUsuarios implements MeterBinder {
+
+    private static final float PUNTAJE_EXACTO = 3f;
+    private static final float PUNTAJE_PREFIJO = 2f;
+    private static final float PUNTAJE_APROXIMADO = 1f;
+    private static final int LONGITUD_MINIMA_APROXIMADA = 3;
+    private static final char INICIO = '\u0001';
+    private static final char FIN = '\u0002';
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Tope de documentos que recorre cada palabra de la consulta, para acotar prefijos muy cortos
+    @Value("${usuario.busqueda.max-documentos-por-palabra:20000}")
+    private int maxDocumentosPorPalabra = 20000;
+
+    @Value("${usuario.busqueda.umbral-compactacion:0.2}")
+    private double umbralCompactacion = 0.2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Documentos: posición densa por usuario; un id null marca un documento obsoleto
+    private final Map<String, Integer> documentoPorId = new HashMap<>();
+    private String[] ids = new String[1024];
+    private String[] nombres = new String[1024];
+    private String[] correos = new String[1024];
+    private int documentos;
+    private int obsoletos;
+    // Se mantiene al agregar y quitar documentos y términos, para que el gauge no recorra el índice
+    private volatile long memoriaEstimada = bytesDeArreglos(1024);
+    // Ids actualizados o eliminados mientras construir() lee la tabla; null fuera de la construcción
+    private Set<String> cambiosDuranteConstruccion;
+
+    private final TreeMap<String, Termino> terminos = new TreeMap<>();
+    private final Map<Long, List<Termino>> terminosPorTrigrama = new HashMap<>();
+
+    // La lectura de la tabla puede traer una fila más vieja que un cambio confirmado mientras se recorre:
+    // los ids que cambiaron durante la construcción conservan el cambio y su fila leída se descarta
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        lock.writeLock().lock();
+        try {
+            cambiosDuranteConstruccion = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+            transaccion.setReadOnly(true);
+            transaccion.executeWithoutResult(estado -> {
+                try (Stream<UsuarioResumen> usuarios = usuarioRepository.streamResumenes()) {
+                    usuarios.forEach(usuario -> indexarDesdeTabla(usuario.id(), usuario.nombre(), usuario.correo()));
+                }
+            });
+        } finally {
+            lock.writeLock().lock();
+            try {
+                cambiosDuranteConstruccion = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    void indexarDesdeTabla(String id, String nombre, String correo) {
+        lock.writeLock().lock();
+        try {
+            if (cambiosDuranteConstruccion != null && cambiosDuranteConstruccion.contains(id)) {
+                return;
+            }
+            eliminarDocumento(id);
+            agregarDocumento(id, nombre, correo);
+            compactarSiCorresponde();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Dentro de una transacción el índice se actualiza recién al confirmarla, para no mostrar cambios revertidos
+    public void indexar(String id, String nombre, String correo) {
+        alConfirmar(() -> indexarAhora(id, nombre, correo));
+    }
+
+    public void eliminar(String id) {
+        alConfirmar(() -> eliminarAhora(id));
+    }
+
+    public void indexarAhora(String id, String nombre, String correo) {
+        lock.writeLock().lock();
+        try {
+            registrarCambio(id);
+            eliminarDocumento(id);
+            agregarDocumento(id, nombre, correo);
+            compactarSiCorresponde();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminarAhora(String id) {
+        lock.writeLock().lock();
+        try {
+            registrarCambio(id);
+            eliminarDocumento(id);
+            compactarSiCorresponde();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ResultadoBusqueda> buscar(String consulta, int limite) {
+        Set<String> palabras = tokenizar(consulta);
+        if (palabras.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Float> puntajes = null;
+            for (String palabra : palabras) {
+                Map<Integer, Float> dePalabra = puntajesDePalabra(palabra);
+                if (puntajes == null) {
+                    puntajes = dePalabra;
+                } else {
+                    puntajes.keySet().retainAll(dePalabra.keySet());
+                    puntajes.replaceAll((documento, puntaje) -> puntaje + dePalabra.get(documento));
+                }
+                if (puntajes.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return mejores(puntajes, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDocumentos() {
+        lock.readLock().lock();
+        try {
+            return documentoPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTerminos() {
+        lock.readLock().lock();
+        try {
+            return terminos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Estimación con referencias comprimidas (compressed oops) de 4 bytes y cabeceras de objeto de 12-16 bytes.
+    // Se actualiza en cada escritura; leerla no toma el lock ni recorre el índice
+    public long memoriaEstimadaEnBytes() {
+        return memoriaEstimada;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("usuarios.busqueda.documentos", this, IndiceBusquedaUsuarios::getDocumentos)
+                .register(registry);
+        Gauge.builder("usuarios.busqueda.terminos", this, IndiceBusquedaUsuarios::getTerminos)
+                .register(registry);
+        Gauge.builder("usuarios.busqueda.memoria", this, IndiceBusquedaUsuarios::memoriaEstimadaEnBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private Map<Integer, Float> puntajesDePalabra(String palabra) {
+        Map<Integer, Float> puntajes = new HashMap<>();
+        int[] presupuesto = {maxDocumentosPorPalabra};
+
+        Termino exacto = terminos.get(palabra);
+        if (exacto != null) {
+            sumar(puntajes, exacto, PUNTAJE_EXACTO, presupuesto);
+        }
+        boolean hayPrefijos = false;
+        for (Termino termino : terminos.subMap(palabra, false, palabra + Character.MAX_VALUE, false).values()) {
+            if (presupuesto[0] <= 0) {
+                break;
+            }
+            hayPrefijos = true;
+            // Entre los prefijos puntúan más los términos más parecidos en largo a la palabra buscada
+            sumar(puntajes, termino, PUNTAJE_PREFIJO + (float) palabra.length() / termino.texto.length(), presupuesto);
+        }
+        if (exacto == null && !hayPrefijos && palabra.length() >= LONGITUD_MINIMA_APROXIMADA) {
+            sumarAproximados(puntajes, palabra, presupuesto);
+        }
+        return puntajes;
+    }
+
+    // Candidatos por trigramas compartidos: cada edición destruye a lo sumo tres trigramas,
+    // así que un término a distancia d comparte al menos (trigramas - 3d) con la palabra
+    private void sumarAproximados(Map<Integer, Float> puntajes, String palabra, int[] presupuesto) {
+        int maxDistancia = palabra.length() <= 4 ? 1 : 2;
+        long[] trigramas = trigramas(palabra);
+        Map<Termino, Integer> compartidos = new HashMap<>();
+        for (long trigrama : trigramas) {
+            List<Termino> conTrigrama = terminosPorTrigrama.get(trigrama);
+            if (conTrigrama != null) {
+                for (Termino termino : conTrigrama) {
+                    compartidos.merge(termino, 1, Integer::sum);
+                }
+            }
+        }
+        int minimoCompartidos = trigramas.length - 3 * maxDistancia;
+        for (Map.Entry<Termino, Integer> candidato : compartidos.entrySet()) {
+            Termino termino = candidato.getKey();
+            if (candidato.getValue() < minimoCompartidos
+                    || Math.abs(termino.texto.length() - palabra.length()) > maxDistancia) {
+                continue;
+            }
+            int distancia = distanciaEdicion(palabra, termino.texto, maxDistancia);
+            if (distancia <= maxDistancia && presupuesto[0] > 0) {
+                sumar(puntajes, termino, PUNTAJE_APROXIMADO - 0.25f * distancia, presupuesto);
+            }
+        }
+    }
+
+    // Un documento conserva el mejor puntaje entre los términos que coinciden con la misma palabra
+    private void sumar(Map<Integer, Float> puntajes, Termino termino, float puntaje, int[] presupuesto) {
+        for (int i = 0; i < termino.cantidad && presupuesto[0] > 0; i++) {
+            int documento = termino.documentos[i];
+            if (ids[documento] != null) {
+                puntajes.merge(documento, puntaje, Math::max);
+                presupuesto[0]--;
+            }
+        }
+    }
+
+    // Selección de los K mejores con un heap mínimo de tamaño K; a igual puntaje gana el documento más antiguo
+    private List<ResultadoBusqueda> mejores(Map<Integer, Float> puntajes, int limite) {
+        PriorityQueue<Map.Entry<Integer, Float>> heap = new PriorityQueue<>(limite + 1, (a, b) ->
+                a.getValue().equals(b.getValue())
+                        ? Integer.compare(b.getKey(), a.getKey())
+                        : Float.compare(a.getValue(), b.getValue()));
+        for (Map.Entry<Integer, Float> entrada : puntajes.entrySet()) {
+            heap.offer(entrada);
+            if (heap.size() > limite) {
+                heap.poll();
+            }
+        }
+        List<ResultadoBusqueda> resultados = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<Integer, Float> entrada = heap.poll();
+            int documento = entrada.getKey();
+            resultados.add(new ResultadoBusqueda(ids[documento], nombres[documento], correos[documento], entrada.getValue()));
+        }
+        Collections.reverse(resultados);
+        return resultados;
+    }
+
+    private void agregarDocumento(String id, String nombre, String correo) {
+        if (documentos == ids.length) {
+            int capacidad = ids.length * 2;
+            memoriaEstimada += bytesDeArreglos(capacidad) - bytesDeArreglos(ids.length);
+            ids = Arrays.copyOf(ids, capacidad);
+            nombres = Arrays.copyOf(nombres, capacidad);
+            correos = Arrays.copyOf(correos, capacidad);
+        }
+        int documento = documentos++;
+        ids[documento] = id;
+        nombres[documento] = nombre;
+        correos[documento] = correo;
+        documentoPorId.put(id, documento);
+        memoriaEstimada += bytesDeDocumento(id, nombre, correo);
+        for (String texto : tokenizar(nombre, correo)) {
+            Termino termino = termino(texto);
+            int capacidadAnterior = termino.documentos.length;
+            termino.agregar(documento);
+            memoriaEstimada += 4L * (termino.documentos.length - capacidadAnterior);
+        }
+    }
+
+    private void eliminarDocumento(String id) {
+        Integer documento = documentoPorId.remove(id);
+        if (documento != null) {
+            memoriaEstimada -= bytesDeDocumento(ids[documento], nombres[documento], correos[documento]);
+            ids[documento] = null;
+            nombres[documento] = null;
+            correos[documento] = null;
+            obsoletos++;
+        }
+    }
+
+    // Reconstruye el índice solo con los documentos vigentes
+    private void compactarSiCorresponde() {
+        if (obsoletos < 1024 || obsoletos < documentos * umbralCompactacion) {
+            return;
+        }
+        String[] idsVigentes = ids;
+        String[] nombresVigentes = nombres;
+        String[] correosVigentes = correos;
+        int total = documentos;
+        int capacidad = Math.max(1024, Integer.highestOneBit(Math.max(1, total - obsoletos)) * 2);
+        ids = new String[capacidad];
+        nombres = new String[capacidad];
+        correos = new String[capacidad];
+        documentos = 0;
+        obsoletos = 0;
+        memoriaEstimada = bytesDeArreglos(capacidad);
+        documentoPorId.clear();
+        terminos.clear();
+        terminosPorTrigrama.clear();
+        for (int documento = 0; documento < total; documento++) {
+            if (idsVigentes[documento] != null) {
+                agregarDocumento(idsVigentes[documento], nombresVigentes[documento], correosVigentes[documento]);
+            }
+        }
+    }
+
+    private Termino termino(String texto) {
+        Termino termino = terminos.get(texto);
+        if (termino == null) {
+            termino = new Termino(texto);
+            terminos.put(texto, termino);
+            // Entrada del TreeMap, objeto Termino, su texto y su lista de documentos
+            long bytes = 40 + 24 + bytesDeTexto(texto) + 16 + 4L * termino.documentos.length;
+            for (long trigrama : trigramas(texto)) {
+                List<Termino> lista = terminosPorTrigrama.get(trigrama);
+                if (lista == null) {
+                    lista = new ArrayList<>(2);
+                    terminosPorTrigrama.put(trigrama, lista);
+                    // Nodo del HashMap, clave Long, ArrayList y su arreglo interno
+                    bytes += 32 + 16 + 24 + 16;
+                }
+                lista.add(termino);
+                bytes += 4;
+            }
+            memoriaEstimada += bytes;
+        }
+        return termino;
+    }
+
+    private void registrarCambio(String id) {
+        if (cambiosDuranteConstruccion != null) {
+            cambiosDuranteConstruccion.add(id);
+        }
+    }
+
+    private static Set<String> tokenizar(String... textos) {
+        Set<String> palabras = new LinkedHashSet<>();
+        for (String texto : textos) {
+            if (texto == null) {
+                continue;
+            }
+            String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                    .replaceAll("")
+                    .toLowerCase(Locale.ROOT);
+            for (String palabra : SEPARADORES.split(normalizado)) {
+                if (!palabra.isEmpty()) {
+                    palabras.add(palabra);
+                }
+            }
+        }
+        return palabras;
+    }
+
+    // Trigramas con marcas de inicio y fin, para que los términos de una o dos letras también tengan
+    private static long[] trigramas(String texto) {
+        String marcado = INICIO + texto + FIN;
+        long[] trigramas = new long[marcado.length() - 2];
+        for (int i = 0; i < trigramas.length; i++) {
+            trigramas[i] = ((long) marcado.charAt(i) << 32) | ((long) marcado.charAt(i + 1) << 16) | marcado.charAt(i + 2);
+        }
+        return trigramas;
+    }
+
+    // Levenshtein con dos filas; corta en cuanto la fila entera supera la distancia máxima
+    private static int distanciaEdicion(String a, String b, int maxDistancia) {
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            int minimoFila = actual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                actual[j] = Math.min(Math.min(actual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + costo);
+                minimoFila = Math.min(minimoFila, actual[j]);
+            }
+            if (minimoFila > maxDistancia) {
+                return maxDistancia + 1;
+            }
+            int[] intercambio = anterior;
+            anterior = actual;
+            actual = intercambio;
+        }
+        return anterior[b.length()];
+    }
+
+    // Los tres arreglos paralelos de documentos
+    private static long bytesDeArreglos(int capacidad) {
+        return 3L * (16 + 4L * capacidad);
+    }
+
+    // Entrada de documentoPorId con su Integer y los tres textos
+    private static long bytesDeDocumento(String id, String nombre, String correo) {
+        return 48 + bytesDeTexto(id) + bytesDeTexto(nombre) + bytesDeTexto(correo);
+    }
+
+    private static long bytesDeTexto(String texto) {
+        // Objeto String más su arreglo de bytes en codificación compacta (Latin-1)
+        return texto == null ? 0 : 24 + 16 + texto.length();
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    private static final class Termino {
+        private final String texto;
+        private int[] documentos = new int[2];
+        private int cantidad;
+
+        private Termino(String texto) {
+            this.texto = texto;
+        }
+
+        // Los documentos se agregan en orden creciente, así que basta mirar el último para no repetir
+        private void agregar(int documento) {
+            if (cantidad > 0 && documentos[cantidad - 1] == documento) {
+                return;
+            }
+            if (cantidad == documentos.length) {
+                documentos = Arrays.copyOf(documentos, cantidad * 2);
+            }
+            documentos[cantidad++] = documento;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend.servicio.usuarios.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Codifica el último id de una página como cursor opaco para la paginación por keyset.
+ * Al decodificar se exige un UUID en texto: un cursor que no lo sea es un error del cliente y no debe
+ * llegar a la consulta, donde el conversor de ids lo tomaría como el UUID nulo y la lista volvería a empezar.
+ */
+public final class CursorPaginacion {
+
+    private CursorPaginacion() {
+    }
+
+    public static String codificar(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decodificar(String cursor) {
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // UUID.fromString también acepta formas abreviadas como "1-1-1-1-1"; solo vale la forma canónica
+            if (!UUID.fromString(id).toString().equalsIgnoreCase(id)) {
+                throw new IllegalArgumentException(id);
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("El cursor de paginación es inválido.");
+        }
+    }
+}
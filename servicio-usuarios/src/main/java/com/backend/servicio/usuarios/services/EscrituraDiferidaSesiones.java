@@ -0,0 +1,194 @@
+package com.backend.servicio.usuarios.services;
+
+import com.backend.servicio.usuarios.cache.RespuestaJsonCache;
+import com.backend.servicio.usuarios.cache.UsuarioCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Escritura diferida (write-behind) de ultimo_login y token. Los cambios se acumulan en memoria,
+ * combinando las actualizaciones repetidas de un mismo usuario en una sola, y se escriben en lotes JDBC
+ * periódicos en lugar de un UPDATE síncrono sobre la fila del usuario en cada login o renovación de token.
+ * La memoria está acotada: si se alcanza la capacidad, el cambio de un usuario nuevo se descarta y el vaciado
+ * se adelanta en el executor de tareas, sin escribir en el hilo de la petición. Son datos de sesión, no del
+ * usuario: la escritura no incrementa la versión, así no cambia el ETag ni hace fallar el If-Match de otro cliente.
+ * Al detener la aplicación se escribe lo pendiente.
+ * Hoy ningún endpoint actualiza ultimo_login ni el token después de la creación (no hay login ni renovación
+ * de token); el componente queda listo para ese camino.
+ */
+@Component
+public class EscrituraDiferidaSesiones implements MeterBinder {
+
+    private static final String ACTUALIZAR =
+            "UPDATE usuarios SET ultimo_login = ?, token = COALESCE(?, token) WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioCache usuarioCache;
+
+    @Autowired
+    private RespuestaJsonCache respuestaJsonCache;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${usuario.escritura-diferida.capacidad:10000}")
+    private int capacidad;
+
+    @Value("${usuario.escritura-diferida.tamano-lote:500}")
+    private int tamanoLote;
+
+    private final ConcurrentHashMap<String, Pendiente> pendientes = new ConcurrentHashMap<>();
+    // ReentrantLock en lugar de synchronized: el vaciado hace I/O y no debe fijar hilos virtuales
+    private final ReentrantLock vaciado = new ReentrantLock();
+
+    private final AtomicLong registradas = new AtomicLong();
+    private final AtomicLong escritas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private final AtomicBoolean vaciadoSolicitado = new AtomicBoolean();
+
+    public void registrarLogin(String usuarioId, LocalDateTime ultimoLogin) {
+        registrar(usuarioId, new Pendiente(ultimoLogin, null));
+    }
+
+    public void registrarToken(String usuarioId, String token, LocalDateTime ultimoLogin) {
+        registrar(usuarioId, new Pendiente(ultimoLogin, token));
+    }
+
+    private void registrar(String usuarioId, Pendiente pendiente) {
+        registradas.incrementAndGet();
+        if (pendientes.size() >= capacidad && !pendientes.containsKey(usuarioId)) {
+            descartadas.incrementAndGet();
+            solicitarVaciado();
+            return;
+        }
+        pendientes.merge(usuarioId, pendiente, Pendiente::combinar);
+    }
+
+    // Una sola solicitud a la vez; el vaciado corre en el executor de tareas
+    private void solicitarVaciado() {
+        if (vaciadoSolicitado.compareAndSet(false, true)) {
+            try {
+                taskExecutor.execute(() -> {
+                    try {
+                        vaciar();
+                    } finally {
+                        vaciadoSolicitado.set(false);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                // Sin lugar en el executor lo escribe el vaciado periódico
+                vaciadoSolicitado.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${usuario.escritura-diferida.intervalo-ms:1000}")
+    public void vaciarPeriodicamente() {
+        vaciar();
+    }
+
+    @PreDestroy
+    public void vaciarAlDetener() {
+        vaciar();
+    }
+
+    // Escribe todo lo pendiente; si falla, los cambios vuelven a la cola para el siguiente intento
+    public void vaciar() {
+        vaciado.lock();
+        try {
+            while (!pendientes.isEmpty()) {
+                List<String> ids = new ArrayList<>(tamanoLote);
+                List<Pendiente> lote = new ArrayList<>(tamanoLote);
+                for (String id : pendientes.keySet()) {
+                    Pendiente pendiente = pendientes.remove(id);
+                    if (pendiente != null) {
+                        ids.add(id);
+                        lote.add(pendiente);
+                    }
+                    if (ids.size() == tamanoLote) {
+                        break;
+                    }
+                }
+                escribir(ids, lote);
+            }
+        } finally {
+            vaciado.unlock();
+        }
+    }
+
+    private void escribir(List<String> ids, List<Pendiente> lote) {
+        List<Object[]> parametros = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Pendiente pendiente = lote.get(i);
+            parametros.add(new Object[]{Timestamp.valueOf(pendiente.ultimoLogin()), pendiente.token(), UUID.fromString(ids.get(i))});
+        }
+        try {
+            jdbcTemplate.batchUpdate(ACTUALIZAR, parametros);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < ids.size(); i++) {
+                pendientes.merge(ids.get(i), lote.get(i), Pendiente::combinar);
+            }
+            throw e;
+        }
+        escritas.addAndGet(ids.size());
+        ids.forEach(id -> {
+            usuarioCache.invalidar(id);
+            // La versión no cambia, así que el JSON cacheado de esa versión se descarta explícitamente
+            respuestaJsonCache.invalidar(id);
+        });
+    }
+
+    public int getPendientes() {
+        return pendientes.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("usuarios.escritura.diferida.pendientes", pendientes, Map::size)
+                .description("Usuarios con ultimo_login o token pendientes de escribir")
+                .register(registry);
+        FunctionCounter.builder("usuarios.escritura.diferida.registradas", registradas, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("usuarios.escritura.diferida.escritas", escritas, AtomicLong::get)
+                .description("Filas actualizadas tras combinar las actualizaciones repetidas")
+                .register(registry);
+        FunctionCounter.builder("usuarios.escritura.diferida.descartadas", descartadas, AtomicLong::get)
+                .description("Cambios descartados por estar llena la cola de escritura diferida")
+                .register(registry);
+    }
+
+    // El login más reciente gana; el token solo se reemplaza si la actualización más nueva trae uno
+    private record Pendiente(LocalDateTime ultimoLogin, String token) {
+        Pendiente combinar(Pendiente otro) {
+            Pendiente reciente = otro.ultimoLogin().isAfter(ultimoLogin) ? otro : this;
+            Pendiente anterior = reciente == otro ? this : otro;
+            return new Pendiente(reciente.ultimoLogin(), reciente.token() != null ? reciente.token() : anterior.token());
+        }
+    }
+}
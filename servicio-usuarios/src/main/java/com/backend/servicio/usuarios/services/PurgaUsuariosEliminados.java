@@ -0,0 +1,156 @@
+package com.backend.servicio.usuarios.services;
+
+import com.backend.servicio.usuarios.cache.FiltroCorreosRegistrados;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Purga física de los usuarios eliminados lógicamente. Cada ejecución borra, en lotes acotados y cada lote
+ * en su propia transacción corta, los teléfonos y luego las filas de los usuarios eliminados hace más de la
+ * retención configurada. Entre lotes hace una pausa y cada ejecución tiene un máximo de lotes, para no
+ * retener locks sobre las tablas ni conexiones del pool durante mucho tiempo; lo que quede pendiente
+ * sigue en la ejecución siguiente. Al purgar se liberan los correos, por lo que el filtro de Bloom se
+ * marca para reconstruir.
+ */
+@Component
+public class PurgaUsuariosEliminados implements MeterBinder {
+
+    private static final String SELECCIONAR =
+            "SELECT id FROM usuarios WHERE eliminado IS NOT NULL AND eliminado <= ? ORDER BY eliminado LIMIT ?";
+    private static final String BORRAR_TELEFONOS = "DELETE FROM telefonos WHERE usuario_id = ?";
+    private static final String BORRAR_USUARIO = "DELETE FROM usuarios WHERE id = ? AND eliminado IS NOT NULL";
+    private static final String CONTAR_PENDIENTES = "SELECT COUNT(*) FROM usuarios WHERE eliminado IS NOT NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FiltroCorreosRegistrados filtroCorreos;
+
+    @Value("${usuario.purga.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${usuario.purga.lotes-por-ejecucion:20}")
+    private int lotesPorEjecucion;
+
+    @Value("${usuario.purga.pausa-ms:200}")
+    private long pausaMs;
+
+    @Value("${usuario.purga.retencion-segundos:0}")
+    private long retencionSegundos;
+
+    // Una sola purga a la vez; una ejecución manual concurrente con la programada no hace nada
+    private final ReentrantLock ejecucion = new ReentrantLock();
+
+    private final AtomicLong pendientes = new AtomicLong();
+    private final AtomicLong usuariosPurgados = new AtomicLong();
+    private final AtomicLong telefonosPurgados = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${usuario.purga.intervalo-ms:60000}", initialDelayString = "${usuario.purga.intervalo-ms:60000}")
+    public void purgarPeriodicamente() {
+        purgar();
+    }
+
+    // Devuelve la cantidad de usuarios borrados en esta ejecución
+    public int purgar() {
+        if (!ejecucion.tryLock()) {
+            return 0;
+        }
+        try {
+            pendientes.set(contarPendientes());
+            Timestamp limite = Timestamp.valueOf(LocalDateTime.now().minusSeconds(retencionSegundos));
+            int total = 0;
+            for (int i = 0; i < lotesPorEjecucion; i++) {
+                List<UUID> ids = jdbcTemplate.queryForList(SELECCIONAR, UUID.class, limite, tamanoLote);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                Integer borrados = transactionTemplate.execute(estado -> borrarLote(ids));
+                total += borrados;
+                pendientes.updateAndGet(valor -> Math.max(0, valor - borrados));
+                if (ids.size() < tamanoLote || !pausar()) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                filtroCorreos.marcarObsoleto();
+            }
+            return total;
+        } finally {
+            ejecucion.unlock();
+        }
+    }
+
+    private int borrarLote(List<UUID> ids) {
+        List<Object[]> parametros = new ArrayList<>(ids.size());
+        ids.forEach(id -> parametros.add(new Object[]{id}));
+        int telefonos = sumar(jdbcTemplate.batchUpdate(BORRAR_TELEFONOS, parametros));
+        int usuarios = sumar(jdbcTemplate.batchUpdate(BORRAR_USUARIO, parametros));
+        telefonosPurgados.addAndGet(telefonos);
+        usuariosPurgados.addAndGet(usuarios);
+        lotes.incrementAndGet();
+        return usuarios;
+    }
+
+    // Algunos drivers informan SUCCESS_NO_INFO (-2) en lugar de la cantidad de filas
+    private static int sumar(int[] filas) {
+        int total = 0;
+        for (int cantidad : filas) {
+            total += Math.max(0, cantidad);
+        }
+        return total;
+    }
+
+    private boolean pausar() {
+        try {
+            Thread.sleep(pausaMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long contarPendientes() {
+        Long cantidad = jdbcTemplate.queryForObject(CONTAR_PENDIENTES, Long.class);
+        return cantidad == null ? 0 : cantidad;
+    }
+
+    public long getPendientes() {
+        return pendientes.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("usuarios.purga.pendientes", pendientes, AtomicLong::get)
+                .description("Usuarios eliminados lógicamente que aún no se purgan (se mide al iniciar cada ejecución)")
+                .register(registry);
+        FunctionCounter.builder("usuarios.purga.usuarios", usuariosPurgados, AtomicLong::get)
+                .description("Usuarios borrados físicamente por la purga")
+                .register(registry);
+        FunctionCounter.builder("usuarios.purga.telefonos", telefonosPurgados, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("usuarios.purga.lotes", lotes, AtomicLong::get)
+                .register(registry);
+    }
+}
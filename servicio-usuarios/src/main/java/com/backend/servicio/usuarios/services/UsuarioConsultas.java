@@ -0,0 +1,67 @@
+package com.backend.servicio.usuarios.services;
+
+import com.backend.servicio.usuarios.dto.TelefonoVista;
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.backend.servicio.usuarios.models.repository.TelefonoRepository;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Camino de lectura por proyecciones: una consulta de usuarios y una de sus teléfonos con IN,
+ * sin crear entidades Usuario ni Telefono.
+ */
+@Component
+public class UsuarioConsultas {
+
+    // Cantidad máxima de ids por cada consulta IN de teléfonos
+    private static final int TAMANO_CONSULTA_IDS = 500;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TelefonoRepository telefonoRepository;
+
+    public UsuarioVista buscarPorId(String id) {
+        return usuarioRepository.findVistaById(id)
+                .map(usuario -> agregarTelefonos(List.of(usuario)).get(0))
+                .orElse(null);
+    }
+
+    // Lista en orden de id a partir del id indicado (exclusivo), o desde el principio si es null
+    public List<UsuarioVista> listar(String despuesDe, Limit limite) {
+        List<UsuarioVista> usuarios = despuesDe == null
+                ? usuarioRepository.findVistas(limite)
+                : usuarioRepository.findVistasDespuesDe(despuesDe, limite);
+        return agregarTelefonos(usuarios);
+    }
+
+    // Devuelve las vistas con sus teléfonos, leídos con una consulta IN por cada bloque de ids
+    public List<UsuarioVista> agregarTelefonos(List<UsuarioVista> usuarios) {
+        if (usuarios.isEmpty()) {
+            return usuarios;
+        }
+        Map<String, List<TelefonoVista>> telefonosPorUsuario = new HashMap<>();
+        List<String> ids = new ArrayList<>(usuarios.size());
+        usuarios.forEach(usuario -> ids.add(usuario.id()));
+        for (int desde = 0; desde < ids.size(); desde += TAMANO_CONSULTA_IDS) {
+            List<String> bloque = ids.subList(desde, Math.min(desde + TAMANO_CONSULTA_IDS, ids.size()));
+            for (TelefonoVista telefono : telefonoRepository.findVistasByUsuarioIds(bloque)) {
+                telefonosPorUsuario.computeIfAbsent(telefono.usuarioId(), clave -> new ArrayList<>()).add(telefono);
+            }
+        }
+
+        List<UsuarioVista> resultado = new ArrayList<>(usuarios.size());
+        for (UsuarioVista usuario : usuarios) {
+            resultado.add(usuario.conTelefonos(telefonosPorUsuario.getOrDefault(usuario.id(), List.of())));
+        }
+        return resultado;
+    }
+}
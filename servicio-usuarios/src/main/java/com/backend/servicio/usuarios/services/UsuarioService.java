@@ -1,18 +1,32 @@
 package com.backend.servicio.usuarios.services;
 
+import com.backend.servicio.usuarios.dto.PaginaResponse;
+import com.backend.servicio.usuarios.dto.ResultadoBusqueda;
+import com.backend.servicio.usuarios.dto.ResultadoLoteResponse;
+import com.backend.servicio.usuarios.dto.UsuarioJson;
 import com.backend.servicio.usuarios.dto.UsuarioResponse;
+import com.backend.servicio.usuarios.dto.UsuarioVista;
 import com.backend.servicio.usuarios.models.entity.Usuario;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
 public interface UsuarioService {
 
-    List<Usuario> findAll();
-    Usuario findById(String id) throws Exception;
+    List<UsuarioVista> findAll();
+    PaginaResponse<UsuarioVista> findPagina(String cursor, Integer tamano);
+    UsuarioVista findById(String id) throws Exception;
+    UsuarioJson findJsonById(String id) throws Exception;
+    UsuarioVista findByCorreo(String correo);
+    List<UsuarioVista> findByTelefono(String codigoPais, String codigoCiudad, String numero);
+    List<ResultadoBusqueda> buscar(String consulta, Integer limite);
     UsuarioResponse save(Usuario usuario) throws Exception;
+    List<ResultadoLoteResponse> saveAll(List<Usuario> usuarios);
     Usuario update(String id, Usuario usuario);
     Usuario parcialUpdate(String id, Usuario usuario) throws Exception;
     void delete(String id) throws Exception;
+    void exportar(OutputStream salida) throws IOException;
 }
 
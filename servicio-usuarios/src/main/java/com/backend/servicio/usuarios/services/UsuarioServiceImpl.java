@@ -1,92 +1,399 @@
 package com.backend.servicio.usuarios.services;
 
+import com.backend.servicio.usuarios.cache.FiltroCorreosRegistrados;
+import com.backend.servicio.usuarios.cache.RespuestaJsonCache;
+import com.backend.servicio.usuarios.cache.TelefonoCache;
+import com.backend.servicio.usuarios.cache.UsuarioCache;
+import com.backend.servicio.usuarios.dto.PaginaResponse;
+import com.backend.servicio.usuarios.dto.ResultadoBusqueda;
+import com.backend.servicio.usuarios.dto.ResultadoLoteResponse;
+import com.backend.servicio.usuarios.dto.UsuarioJson;
 import com.backend.servicio.usuarios.dto.UsuarioResponse;
 import com.backend.servicio.usuarios.dto.UsuarioMapper;
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.backend.servicio.usuarios.exceptions.CorreoRegistradoException;
+import com.backend.servicio.usuarios.exceptions.DatosInvalidosException;
+import com.backend.servicio.usuarios.exceptions.UsuarioNoEncontradoException;
 import com.backend.servicio.usuarios.jwt.JwtAuthenticationFilter;
 import com.backend.servicio.usuarios.models.entity.Usuario;
 import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import com.backend.servicio.usuarios.search.IndiceBusquedaUsuarios;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "usuarios.servicio", description = "Tiempo de los métodos del servicio de usuarios", histogram = true)
 public class UsuarioServiceImpl implements UsuarioService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
-    @Value("${usuario.contrasena.patron}")
-    private String passwordRegex;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UsuarioCache usuarioCache;
+
+    @Autowired
+    private RespuestaJsonCache respuestaJsonCache;
+
+    @Autowired
+    private TelefonoCache telefonoCache;
+
+    @Autowired
+    private UsuarioConsultas usuarioConsultas;
+
+    @Autowired
+    private FiltroCorreosRegistrados filtroCorreos;
+
+    @Autowired
+    private IndiceBusquedaUsuarios indiceBusqueda;
+
+    @Value("${usuario.paginacion.tamano-defecto:20}")
+    private int tamanoPaginaDefecto;
+
+    @Value("${usuario.paginacion.tamano-maximo:100}")
+    private int tamanoPaginaMaximo;
+
+    @Value("${usuario.exportacion.tamano-lote:500}")
+    private int tamanoLoteExportacion;
+
+    @Value("${usuario.lote.tamano-maximo:1000}")
+    private int tamanoLoteMaximo;
+
+    @Value("${usuario.lote.tamano-escritura:100}")
+    private int tamanoLoteEscritura;
+
+    @Value("${usuario.busqueda.limite-defecto:10}")
+    private int limiteBusquedaDefecto;
+
+    @Value("${usuario.busqueda.limite-maximo:100}")
+    private int limiteBusquedaMaximo;
+
+    @Value("${usuario.eliminacion.logica:true}")
+    private boolean eliminacionLogica;
+
+    // Errores esperados de mensaje fijo, preasignados: sin traza de pila, lanzarlos no reserva memoria
+    private static final CorreoRegistradoException CORREO_REGISTRADO =
+            new CorreoRegistradoException("El correo ya está registrado");
+    private static final CorreoRegistradoException CORREO_EN_USO =
+            new CorreoRegistradoException("El correo ya está en uso por otro usuario.");
+
+    // Cantidad máxima de parámetros por cada consulta IN de correos existentes
+    private static final int TAMANO_CONSULTA_CORREOS = 500;
+
+    // Nombre de la restricción única sobre usuarios.correo (schema.sql y @Table de Usuario), en mayúsculas
+    private static final String RESTRICCION_CORREO = "UK_USUARIOS_CORREO";
 
-    // para validar formato de correo electrónico
-    private static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
+    // Campos que pueden omitirse en PUT (se conserva la contraseña) y en PATCH
+    private static final Set<String> OPCIONALES_ACTUALIZACION = Set.of("contrasena");
+    private static final Set<String> OPCIONALES_PARCIAL = Set.of("nombre", "correo", "contrasena");
 
     @Override
-    public List<Usuario> findAll() {
-        return usuarioRepository.findAll();
+    public List<UsuarioVista> findAll() {
+        return usuarioConsultas.listar(null, Limit.unlimited());
     }
 
     @Override
-    public Usuario findById(String id) {
-        return usuarioRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado con el id: " + id));
+    public PaginaResponse<UsuarioVista> findPagina(String cursor, Integer tamano) {
+        int limite = tamano == null ? tamanoPaginaDefecto : Math.min(Math.max(tamano, 1), tamanoPaginaMaximo);
+
+        // Se pide un registro extra para saber si existe una página siguiente sin hacer un COUNT
+        Limit consulta = Limit.of(limite + 1);
+        List<UsuarioVista> usuarios = usuarioConsultas.listar(
+                cursor == null ? null : CursorPaginacion.decodificar(cursor), consulta);
+
+        String siguiente = null;
+        if (usuarios.size() > limite) {
+            usuarios = new ArrayList<>(usuarios.subList(0, limite));
+            siguiente = CursorPaginacion.codificar(usuarios.get(limite - 1).id());
+        }
+        return new PaginaResponse<>(usuarios, siguiente);
     }
 
     @Override
-    @Transactional
-    public UsuarioResponse save(Usuario usuario) {
-        // Validar si el correo ya existe
-        if (usuarioRepository.existsByCorreo(usuario.getCorreo())) {
-            throw new IllegalArgumentException("El correo ya está registrado");
+    public UsuarioVista findById(String id) {
+        UsuarioVista usuario = usuarioCache.buscarPorId(id);
+        if (usuario == null) {
+            throw new UsuarioNoEncontradoException(id);
         }
+        return usuario;
+    }
+
+    @Override
+    // Camino sin excepciones para el GET: un id inexistente devuelve null y el controlador responde 404
+    public UsuarioJson findJsonById(String id) throws IOException {
+        UsuarioVista usuario = usuarioCache.buscarPorId(id);
+        return usuario == null ? null : respuestaJsonCache.serializar(usuario);
+    }
 
-        // Validar contraseña
-        if (!validarContrasena(usuario.getContrasena())) {
-            throw new IllegalArgumentException("La contraseña debe tener al menos 6 caracteres y contener letras y números.");
+    @Override
+    public List<UsuarioVista> findByTelefono(String codigoPais, String codigoCiudad, String numero) {
+        if (esBlanco(codigoPais) || esBlanco(codigoCiudad) || esBlanco(numero)) {
+            throw new IllegalArgumentException("El código de país, el código de ciudad y el número son requeridos.");
+        }
+        String pais = TelefonoCache.normalizar(codigoPais);
+        String ciudad = TelefonoCache.normalizar(codigoCiudad);
+        String digitos = TelefonoCache.normalizar(numero);
+        if (pais.isEmpty() || ciudad.isEmpty() || digitos.isEmpty()) {
+            throw new IllegalArgumentException("El código de país, el código de ciudad y el número deben contener dígitos.");
         }
+        List<UsuarioVista> usuarios = new ArrayList<>();
+        for (String id : telefonoCache.buscarUsuarios(pais, ciudad, digitos)) {
+            UsuarioVista usuario = usuarioCache.buscarPorId(id);
+            if (usuario != null) {
+                usuarios.add(usuario);
+            }
+        }
+        return usuarios;
+    }
 
-        // Validar formato de correo
-        if (!validarCorreo(usuario.getCorreo())) {
-            throw new IllegalArgumentException("El formato del correo electrónico es inválido.");
+    private static boolean esBlanco(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
+    @Override
+    public List<ResultadoBusqueda> buscar(String consulta, Integer limite) {
+        if (consulta == null || consulta.strip().length() < 2) {
+            throw new IllegalArgumentException("La búsqueda debe tener al menos 2 caracteres.");
         }
+        int cantidad = limite == null ? limiteBusquedaDefecto : Math.min(Math.max(limite, 1), limiteBusquedaMaximo);
+        return indiceBusqueda.buscar(consulta, cantidad);
+    }
+
+    @Override
+    public UsuarioVista findByCorreo(String correo) {
+        return usuarioCache.buscarPorCorreo(correo);
+    }
+
+    @Override
+    @Transactional
+    public UsuarioResponse save(Usuario usuario) {
+        // El cuerpo ya llega validado por @Valid en el controlador
 
         // Generar y asignar un token JWT
         String token = JwtAuthenticationFilter.generateToken(usuario.getCorreo());
         usuario.setToken(token);
         usuario.setUltimoLogin(LocalDateTime.now());
 
-        Usuario nuevoUsuario = usuarioRepository.save(usuario);
+        telefonoCache.invalidar(usuario.getTelefonos());
+        Usuario nuevoUsuario;
+        try {
+            // Sin consulta previa del correo: la restricción UNIQUE lo rechaza en el mismo INSERT,
+            // incluso cuando dos registros concurrentes traen el mismo correo
+            nuevoUsuario = usuarioRepository.saveAndFlush(usuario);
+        } catch (RuntimeException e) {
+            if (esCorreoDuplicado(e)) {
+                throw CORREO_REGISTRADO;
+            }
+            throw e;
+        }
+        filtroCorreos.agregar(nuevoUsuario.getCorreo());
+        indiceBusqueda.indexar(nuevoUsuario.getId(), nuevoUsuario.getNombre(), nuevoUsuario.getCorreo());
         return UsuarioMapper.toUsuarioResponse(nuevoUsuario);
     }
 
+    @Override
+    // Sin transacción propia: cada bloque de escritura se confirma por separado (ver insertarPorBloques)
+    public List<ResultadoLoteResponse> saveAll(List<Usuario> usuarios) {
+        if (usuarios.size() > tamanoLoteMaximo) {
+            throw new IllegalArgumentException("El lote no puede superar los " + tamanoLoteMaximo + " usuarios.");
+        }
+
+        // Una sola pasada de consultas IN para todos los correos del lote
+        Set<String> correosRegistrados = buscarCorreosRegistrados(usuarios);
+        Set<String> correosDelLote = new HashSet<>();
+
+        ResultadoLoteResponse[] resultados = new ResultadoLoteResponse[usuarios.size()];
+        List<Usuario> validos = new ArrayList<>();
+        List<Integer> indicesValidos = new ArrayList<>();
+        LocalDateTime ahora = LocalDateTime.now();
+
+        for (int i = 0; i < usuarios.size(); i++) {
+            Usuario usuario = usuarios.get(i);
+            String error = validarUsuarioLote(usuario, correosRegistrados, correosDelLote);
+            if (error != null) {
+                resultados[i] = new ResultadoLoteResponse(i, usuario == null ? null : usuario.getCorreo(), false, null, error);
+                continue;
+            }
+            usuario.setToken(JwtAuthenticationFilter.generateToken(usuario.getCorreo()));
+            usuario.setUltimoLogin(ahora);
+            validos.add(usuario);
+            indicesValidos.add(i);
+        }
+
+        validos.forEach(usuario -> telefonoCache.invalidar(usuario.getTelefonos()));
+        String[] errores = insertarPorBloques(validos);
+
+        for (int j = 0; j < validos.size(); j++) {
+            Usuario usuario = validos.get(j);
+            int indice = indicesValidos.get(j);
+            if (errores[j] != null) {
+                resultados[indice] = new ResultadoLoteResponse(indice, usuario.getCorreo(), false, null, errores[j]);
+                continue;
+            }
+            filtroCorreos.agregar(usuario.getCorreo());
+            indiceBusqueda.indexar(usuario.getId(), usuario.getNombre(), usuario.getCorreo());
+            resultados[indice] = new ResultadoLoteResponse(indice, usuario.getCorreo(), true,
+                    UsuarioMapper.toUsuarioResponse(usuario), null);
+        }
+        return List.of(resultados);
+    }
+
+    // Inserta los usuarios en bloques de tamanoLoteEscritura, cada uno en su transacción con un batch JDBC.
+    // Si el flush de un bloque falla (p. ej. un correo que otra petición registró después de la consulta
+    // de correos existentes), la transacción del bloque se revierte y sus usuarios se insertan de a uno
+    // para reportar solo las filas que fallan. Devuelve el error de cada usuario o null si se insertó
+    private String[] insertarPorBloques(List<Usuario> usuarios) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        String[] errores = new String[usuarios.size()];
+        for (int desde = 0; desde < usuarios.size(); desde += tamanoLoteEscritura) {
+            List<Usuario> bloque = usuarios.subList(desde, Math.min(desde + tamanoLoteEscritura, usuarios.size()));
+            try {
+                transaccion.executeWithoutResult(estado -> usuarioRepository.persistAll(bloque, bloque.size()));
+            } catch (RuntimeException e) {
+                for (int j = 0; j < bloque.size(); j++) {
+                    Usuario usuario = bloque.get(j);
+                    try {
+                        transaccion.executeWithoutResult(estado -> usuarioRepository.persistAll(List.of(usuario), 1));
+                    } catch (RuntimeException errorFila) {
+                        errores[desde + j] = esCorreoDuplicado(errorFila)
+                                ? CORREO_REGISTRADO.getMessage() : "No se pudo guardar el usuario";
+                    }
+                }
+            }
+        }
+        return errores;
+    }
+
+    private Set<String> buscarCorreosRegistrados(List<Usuario> usuarios) {
+        List<String> correos = new ArrayList<>(usuarios.size());
+        for (Usuario usuario : usuarios) {
+            // Solo se consultan los correos que el filtro no puede descartar
+            if (usuario != null && usuario.getCorreo() != null && filtroCorreos.podriaEstarRegistrado(usuario.getCorreo())) {
+                correos.add(usuario.getCorreo());
+            }
+        }
+        Set<String> registrados = new HashSet<>();
+        for (int desde = 0; desde < correos.size(); desde += TAMANO_CONSULTA_CORREOS) {
+            List<String> bloque = correos.subList(desde, Math.min(desde + TAMANO_CONSULTA_CORREOS, correos.size()));
+            registrados.addAll(usuarioRepository.findCorreosExistentes(bloque));
+        }
+        for (int i = registrados.size(); i < correos.size(); i++) {
+            filtroCorreos.registrarResultado(false);
+        }
+        return registrados;
+    }
+
+    // Devuelve el mensaje de error del usuario o null si puede insertarse. Las restricciones son las
+    // mismas de @Valid en el registro individual, con sus mensajes
+    private String validarUsuarioLote(Usuario usuario, Set<String> correosRegistrados, Set<String> correosDelLote) {
+        if (usuario == null) {
+            return "El usuario es requerido";
+        }
+        Set<ConstraintViolation<Usuario>> errores = validator.validate(usuario);
+        if (!errores.isEmpty()) {
+            return errores.iterator().next().getMessage();
+        }
+        if (correosRegistrados.contains(usuario.getCorreo())) {
+            return CORREO_REGISTRADO.getMessage();
+        }
+        if (!correosDelLote.add(usuario.getCorreo())) {
+            return "El correo está repetido en el lote";
+        }
+        return null;
+    }
+
+    // Si la petición trae la versión esperada (If-Match), debe coincidir con la guardada.
+    // Un cambio concurrente posterior a esta lectura lo detecta el @Version al hacer commit
+    private static void validarVersion(Usuario existente, Usuario cambios) {
+        if (cambios.getVersion() != null && !cambios.getVersion().equals(existente.getVersion())) {
+            throw new OptimisticLockingFailureException("El usuario fue modificado por otra petición; vuelva a consultarlo.");
+        }
+    }
+
+    // Violación de integridad (SQLState 23xxx) de la restricción única del correo, en cualquier nivel de causas.
+    // Se reconoce por el nombre de la restricción, no por la columna: H2 lo incluye en el mensaje
+    // (... "PUBLIC.UK_USUARIOS_CORREO_INDEX_8 ON PUBLIC.USUARIOS(CORREO NULLS FIRST) ..."), igual que
+    // otros motores, y otra violación que mencione la columna no se confunde con un correo duplicado
+    private static boolean esCorreoDuplicado(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql) {
+                // En un batch JDBC la violación puede venir encadenada como siguiente excepción
+                for (SQLException actual = sql; actual != null; actual = actual.getNextException()) {
+                    String estado = actual.getSQLState();
+                    String mensaje = actual.getMessage();
+                    if (estado != null && estado.startsWith("23")
+                            && mensaje != null && mensaje.toUpperCase(Locale.ROOT).contains(RESTRICCION_CORREO)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Aplica las restricciones de Usuario (las mismas de @Valid) con el validador de Spring.
+    // Un campo opcional solo se rechaza si viene con un valor inválido, no por omitirlo
+    private void validar(Usuario usuario, Set<String> opcionales) {
+        for (ConstraintViolation<Usuario> error : validator.validate(usuario)) {
+            if (error.getInvalidValue() == null && opcionales.contains(error.getPropertyPath().toString())) {
+                continue;
+            }
+            throw new DatosInvalidosException(error.getMessage());
+        }
+    }
+
     @Override
     @Transactional
     public Usuario update(String id, Usuario usuario) {
-        Usuario existente = usuarioRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado con el id: " + id));
+        Usuario existente = usuarioRepository.findVigenteById(id)
+                .orElseThrow(() -> new UsuarioNoEncontradoException(id));
+        validarVersion(existente, usuario);
+        validar(usuario, OPCIONALES_ACTUALIZACION);
 
         // Validar si el correo ya está en uso por otro usuario
         if (!existente.getCorreo().equals(usuario.getCorreo()) &&
-                usuarioRepository.existsByCorreo(usuario.getCorreo())) {
-            throw new IllegalArgumentException("El correo ya está en uso por otro usuario.");
+                filtroCorreos.estaRegistrado(usuario.getCorreo())) {
+            throw CORREO_EN_USO;
         }
 
-        // Validar contraseña si se está actualizando
-        if (usuario.getContrasena() != null &&
-                !validarContrasena(usuario.getContrasena())) {
-            throw new IllegalArgumentException("La contraseña debe tener al menos 6 caracteres y contener letras y números.");
+        usuarioCache.invalidar(id, existente.getCorreo(), usuario.getCorreo());
+        respuestaJsonCache.invalidar(id);
+        if (!existente.getCorreo().equals(usuario.getCorreo())) {
+            filtroCorreos.agregar(usuario.getCorreo());
+            filtroCorreos.marcarObsoleto();
         }
-
-        // Validar formato de correo electrónico
-        if (!validarCorreo(usuario.getCorreo())) {
-            throw new IllegalArgumentException("El formato del correo electrónico es inválido.");
-        }
-
         existente.setNombre(usuario.getNombre());
         existente.setCorreo(usuario.getCorreo());
 
@@ -96,18 +403,26 @@ public class UsuarioServiceImpl implements UsuarioService {
 
         // Si hay teléfonos, actualizar la relación
         if (usuario.getTelefonos() != null && !usuario.getTelefonos().isEmpty()) {
-            existente.getTelefonos().clear();
-            usuario.getTelefonos().forEach(existente::addTelefono);
+            telefonoCache.invalidar(existente.getTelefonos());
+            telefonoCache.invalidar(usuario.getTelefonos());
+            existente.sincronizarTelefonos(usuario.getTelefonos(), true);
         }
         existente.setModificado(LocalDateTime.now());
-        return usuarioRepository.save(existente);
+        Usuario actualizado = guardarCambios(existente);
+        indiceBusqueda.indexar(id, actualizado.getNombre(), actualizado.getCorreo());
+        return actualizado;
     }
 
     @Override
     @Transactional
     public Usuario parcialUpdate(String id, Usuario usuarioParcial) {
-        Usuario usuario = usuarioRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado con el id: " + id));
+        Usuario usuario = usuarioRepository.findVigenteById(id)
+                .orElseThrow(() -> new UsuarioNoEncontradoException(id));
+        validarVersion(usuario, usuarioParcial);
+        validar(usuarioParcial, OPCIONALES_PARCIAL);
+
+        usuarioCache.invalidar(id, usuario.getCorreo(), usuarioParcial.getCorreo());
+        respuestaJsonCache.invalidar(id);
 
         // Actualizar solo los campos que se proporcionan
         if (usuarioParcial.getNombre() != null) {
@@ -115,51 +430,97 @@ public class UsuarioServiceImpl implements UsuarioService {
         }
         if (usuarioParcial.getCorreo() != null) {
             // Validar si el correo ya existe en otro usuario
-            if (!usuario.getCorreo().equals(usuarioParcial.getCorreo()) && usuarioRepository.existsByCorreo(usuarioParcial.getCorreo())) {
-                throw new IllegalArgumentException("El correo ya está en uso por otro usuario.");
+            if (!usuario.getCorreo().equals(usuarioParcial.getCorreo()) && filtroCorreos.estaRegistrado(usuarioParcial.getCorreo())) {
+                throw CORREO_EN_USO;
             }
-            // Validar formato de correo electrónico
-            if (!validarCorreo(usuarioParcial.getCorreo())) {
-                throw new IllegalArgumentException("El formato del correo electrónico es inválido.");
+            if (!usuario.getCorreo().equals(usuarioParcial.getCorreo())) {
+                filtroCorreos.agregar(usuarioParcial.getCorreo());
+                filtroCorreos.marcarObsoleto();
             }
             usuario.setCorreo(usuarioParcial.getCorreo());
         }
         if (usuarioParcial.getContrasena() != null) {
-            if(!validarContrasena(usuarioParcial.getContrasena())){
-                throw new IllegalArgumentException("La contraseña debe tener al menos 6 caracteres y contener letras y números.");
-            }
             usuario.setContrasena(usuarioParcial.getContrasena());
         }
 
         // Si hay teléfonos, actualizar la relación
         if (usuarioParcial.getTelefonos() != null && !usuarioParcial.getTelefonos().isEmpty()) {
-            usuarioParcial.getTelefonos().forEach(usuario::addTelefono);
+            telefonoCache.invalidar(usuarioParcial.getTelefonos());
+            usuario.sincronizarTelefonos(usuarioParcial.getTelefonos(), false);
         }
         if (usuarioParcial.getActivo() != null) {
             usuario.setActivo(usuarioParcial.getActivo());
         }
         usuario.setModificado(LocalDateTime.now());
+        Usuario actualizado = guardarCambios(usuario);
+        indiceBusqueda.indexar(id, actualizado.getNombre(), actualizado.getCorreo());
+        return actualizado;
+    }
 
-        return usuarioRepository.save(usuario);
-
+    // El filtro de correos no ve un cambio concurrente al mismo correo: el flush dentro de la transacción
+    // hace que la restricción UNIQUE lo rechace aquí, como en save, y no al confirmar con un error genérico
+    private Usuario guardarCambios(Usuario usuario) {
+        try {
+            return usuarioRepository.saveAndFlush(usuario);
+        } catch (RuntimeException e) {
+            if (esCorreoDuplicado(e)) {
+                throw CORREO_EN_USO;
+            }
+            throw e;
+        }
     }
 
     @Override
     @Transactional
     public void delete(String id) {
-        Usuario usuario = usuarioRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado con el id: " + id));
+        if (eliminacionLogica) {
+            eliminarLogicamente(id);
+            return;
+        }
+        Usuario usuario = usuarioRepository.findVigenteById(id)
+                .orElseThrow(() -> new UsuarioNoEncontradoException(id));
+        usuarioCache.invalidar(id, usuario.getCorreo());
+        respuestaJsonCache.invalidar(id);
+        telefonoCache.invalidar(usuario.getTelefonos());
         usuarioRepository.deleteById(usuario.getId());
+        indiceBusqueda.eliminar(id);
+        filtroCorreos.marcarObsoleto();
     }
 
-    //metodo para validar la contraseña
-    public boolean validarContrasena(String contrasena) {
-        return Pattern.matches(passwordRegex, contrasena);
+    // Un solo UPDATE, cuya cantidad de filas decide el 404; los teléfonos y la fila los borra después
+    // PurgaUsuariosEliminados en lotes. El correo queda reservado hasta la purga, así que el filtro de Bloom
+    // no cambia. Basta invalidar por id: la cache por correo y la cache por teléfono pueden seguir apuntando
+    // al id, pero buscarPorCorreo y findByTelefono lo descartan al no encontrarlo en usuarioCache
+    private void eliminarLogicamente(String id) {
+        if (usuarioRepository.marcarEliminado(id, LocalDateTime.now()) == 0) {
+            throw new UsuarioNoEncontradoException(id);
+        }
+        usuarioCache.invalidar(id);
+        respuestaJsonCache.invalidar(id);
+        indiceBusqueda.eliminar(id);
     }
 
-    //metodo para validar el correo
-    public boolean validarCorreo(String correo) {
-        return EMAIL_PATTERN.matcher(correo).matches();
+    @Override
+    @Transactional(readOnly = true)
+    public void exportar(OutputStream salida) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(UsuarioVista.class);
+        // Se escribe una línea JSON por usuario a medida que llegan del cursor, sin armar la lista completa.
+        // Los teléfonos de cada bloque de usuarios se leen juntos con una consulta IN
+        try (Stream<UsuarioVista> usuarios = usuarioRepository.streamVistas(tamanoLoteExportacion)) {
+            Iterator<UsuarioVista> iterador = usuarios.iterator();
+            List<UsuarioVista> bloque = new ArrayList<>(tamanoLoteExportacion);
+            while (iterador.hasNext()) {
+                bloque.add(iterador.next());
+                if (bloque.size() == tamanoLoteExportacion || !iterador.hasNext()) {
+                    for (UsuarioVista usuario : usuarioConsultas.agregarTelefonos(bloque)) {
+                        salida.write(writer.writeValueAsBytes(usuario));
+                        salida.write('\n');
+                    }
+                    bloque.clear();
+                }
+            }
+        }
+        salida.flush();
     }
 
 }
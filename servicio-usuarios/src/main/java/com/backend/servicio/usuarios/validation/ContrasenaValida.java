@@ -0,0 +1,18 @@
+package com.backend.servicio.usuarios.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = ContrasenaValidaValidator.class)
+public @interface ContrasenaValida {
+    String message() default "La contraseña debe tener al menos 6 caracteres y contener letras y números.";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
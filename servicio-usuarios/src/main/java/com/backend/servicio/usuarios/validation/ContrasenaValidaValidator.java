@@ -0,0 +1,20 @@
+package com.backend.servicio.usuarios.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class ContrasenaValidaValidator implements ConstraintValidator<ContrasenaValida, String> {
+
+    // Spring crea los validadores (SpringConstraintValidatorFactory) e inyecta las reglas por constructor
+    private final ValidadorCredenciales validadorCredenciales;
+
+    public ContrasenaValidaValidator(ValidadorCredenciales validadorCredenciales) {
+        this.validadorCredenciales = validadorCredenciales;
+    }
+
+    @Override
+    public boolean isValid(String contrasena, ConstraintValidatorContext context) {
+        // Los valores nulos los controla @NotBlank
+        return contrasena == null || validadorCredenciales.esContrasenaValida(contrasena);
+    }
+}
@@ -0,0 +1,18 @@
+package com.backend.servicio.usuarios.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = CorreoValidoValidator.class)
+public @interface CorreoValido {
+    String message() default "El formato del correo electrónico es inválido.";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
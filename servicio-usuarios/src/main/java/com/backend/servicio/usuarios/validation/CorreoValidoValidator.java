@@ -0,0 +1,20 @@
+package com.backend.servicio.usuarios.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class CorreoValidoValidator implements ConstraintValidator<CorreoValido, String> {
+
+    // Spring crea los validadores (SpringConstraintValidatorFactory) e inyecta las reglas por constructor
+    private final ValidadorCredenciales validadorCredenciales;
+
+    public CorreoValidoValidator(ValidadorCredenciales validadorCredenciales) {
+        this.validadorCredenciales = validadorCredenciales;
+    }
+
+    @Override
+    public boolean isValid(String correo, ConstraintValidatorContext context) {
+        // Los valores nulos los controla @NotBlank
+        return correo == null || validadorCredenciales.esCorreoValido(correo);
+    }
+}
@@ -0,0 +1,117 @@
+package com.backend.servicio.usuarios.validation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reglas de correo y contraseña compiladas una sola vez al iniciar.
+ * Los formatos conocidos se validan con recorridos manuales que no reservan memoria;
+ * un patrón de contraseña personalizado se valida con la expresión regular precompilada.
+ */
+@Component
+public class ValidadorCredenciales {
+
+    // Formato de correo aceptado; el recorrido de esCorreoValido es equivalente a esta expresión
+    public static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
+
+    // Forma de usuario.contrasena.patron que se reconoce: letras y números, al menos uno de cada y largo mínimo
+    private static final String PREFIJO_CONTRASENA = "^(?=.*[A-Za-z])(?=.*\\d)[A-Za-z\\d]{";
+    private static final String SUFIJO_CONTRASENA = ",}$";
+
+    private final Pattern patronContrasena;
+    // Largo mínimo del formato conocido, o -1 si el patrón configurado es personalizado
+    private final int largoMinimoContrasena;
+
+    public ValidadorCredenciales(@Value("${usuario.contrasena.patron}") String passwordRegex) {
+        this.patronContrasena = Pattern.compile(passwordRegex);
+        this.largoMinimoContrasena = largoMinimoFormatoConocido(passwordRegex);
+    }
+
+    public boolean esContrasenaValida(String contrasena) {
+        if (contrasena == null) {
+            return false;
+        }
+        if (largoMinimoContrasena < 0) {
+            return patronContrasena.matcher(contrasena).matches();
+        }
+        if (contrasena.length() < largoMinimoContrasena) {
+            return false;
+        }
+        boolean tieneLetra = false;
+        boolean tieneDigito = false;
+        for (int i = 0; i < contrasena.length(); i++) {
+            char c = contrasena.charAt(i);
+            if (esLetra(c)) {
+                tieneLetra = true;
+            } else if (esDigito(c)) {
+                tieneDigito = true;
+            } else {
+                return false;
+            }
+        }
+        return tieneLetra && tieneDigito;
+    }
+
+    public boolean esCorreoValido(String correo) {
+        if (correo == null) {
+            return false;
+        }
+        int largo = correo.length();
+        int arroba = correo.indexOf('@');
+        if (arroba < 1) {
+            return false;
+        }
+        for (int i = 0; i < arroba; i++) {
+            char c = correo.charAt(i);
+            if (!esLetra(c) && !esDigito(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                return false;
+            }
+        }
+
+        // El dominio solo admite letras, dígitos, '.' y '-'; el último punto separa un TLD de 2 o más letras
+        int ultimoPunto = -1;
+        for (int i = arroba + 1; i < largo; i++) {
+            char c = correo.charAt(i);
+            if (c == '.') {
+                ultimoPunto = i;
+            } else if (!esLetra(c) && !esDigito(c) && c != '-') {
+                return false;
+            }
+        }
+        if (ultimoPunto <= arroba + 1 || largo - ultimoPunto - 1 < 2) {
+            return false;
+        }
+        for (int i = ultimoPunto + 1; i < largo; i++) {
+            if (!esLetra(correo.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int largoMinimoFormatoConocido(String passwordRegex) {
+        if (!passwordRegex.startsWith(PREFIJO_CONTRASENA) || !passwordRegex.endsWith(SUFIJO_CONTRASENA)) {
+            return -1;
+        }
+        String largo = passwordRegex.substring(PREFIJO_CONTRASENA.length(), passwordRegex.length() - SUFIJO_CONTRASENA.length());
+        if (largo.isEmpty() || largo.length() > 4) {
+            return -1;
+        }
+        for (int i = 0; i < largo.length(); i++) {
+            if (!esDigito(largo.charAt(i))) {
+                return -1;
+            }
+        }
+        return Integer.parseInt(largo);
+    }
+
+    private static boolean esLetra(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean esDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,5 @@
+-- Agrega la eliminación lógica de usuarios a una base existente (H2)
+-- Ejecutar una sola vez, después de migracion-version.sql si corresponde.
+
+ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS eliminado TIMESTAMP;
+CREATE INDEX IF NOT EXISTS idx_usuarios_eliminado ON usuarios(eliminado);
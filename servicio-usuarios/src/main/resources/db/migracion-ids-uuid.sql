@@ -0,0 +1,42 @@
+-- Migración de ids VARCHAR(36) a UUID nativo para bases existentes (H2)
+-- Los ids ya guardados conservan su valor; solo cambia el almacenamiento (16 bytes en lugar de 36).
+-- Los usuarios nuevos reciben ids UUIDv7 ordenados por tiempo.
+-- Ejecutar una sola vez, con la aplicación detenida, desde la consola H2 o RunScript.
+
+CREATE TABLE usuarios_uuid (
+    id UUID PRIMARY KEY,
+    nombre VARCHAR(255) NOT NULL,
+    correo VARCHAR(255) NOT NULL UNIQUE,
+    contrasena VARCHAR(255) NOT NULL,
+    creado TIMESTAMP NOT NULL,
+    modificado TIMESTAMP NOT NULL,
+    ultimo_login TIMESTAMP NOT NULL,
+    token VARCHAR(1000),
+    activo BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+INSERT INTO usuarios_uuid (id, nombre, correo, contrasena, creado, modificado, ultimo_login, token, activo)
+SELECT CAST(id AS UUID), nombre, correo, contrasena, creado, modificado, ultimo_login, token, activo
+FROM usuarios;
+
+CREATE TABLE telefonos_uuid (
+    id UUID PRIMARY KEY,
+    numero VARCHAR(255) NOT NULL,
+    codigo_ciudad VARCHAR(255) NOT NULL,
+    codigo_pais VARCHAR(255) NOT NULL,
+    usuario_id UUID NOT NULL,
+    FOREIGN KEY (usuario_id) REFERENCES usuarios_uuid(id) ON DELETE CASCADE
+);
+
+INSERT INTO telefonos_uuid (id, numero, codigo_ciudad, codigo_pais, usuario_id)
+SELECT CAST(id AS UUID), numero, codigo_ciudad, codigo_pais, CAST(usuario_id AS UUID)
+FROM telefonos;
+
+DROP TABLE telefonos;
+DROP TABLE usuarios;
+
+ALTER TABLE usuarios_uuid RENAME TO usuarios;
+ALTER TABLE telefonos_uuid RENAME TO telefonos;
+
+CREATE INDEX idx_usuarios_correo ON usuarios(correo);
+CREATE INDEX idx_telefonos_usuario_id ON telefonos(usuario_id);
@@ -0,0 +1,3 @@
+-- Agrega el índice de búsqueda inversa por número de teléfono a una base existente (H2)
+
+CREATE INDEX IF NOT EXISTS idx_telefonos_numero ON telefonos(codigo_pais, codigo_ciudad, numero, usuario_id);
@@ -0,0 +1,11 @@
+-- Reemplaza la restricción UNIQUE sin nombre de usuarios.correo por uk_usuarios_correo en una base existente (H2).
+-- El registro reconoce los correos duplicados por ese nombre. H2 generó un nombre propio para la restricción
+-- anterior (CONSTRAINT_xx), así que se recrea la columna: al borrarla se borra también su restricción.
+-- Ejecutar una sola vez, sin tráfico de escritura.
+
+ALTER TABLE usuarios ADD COLUMN correo_nuevo VARCHAR(255);
+UPDATE usuarios SET correo_nuevo = correo;
+ALTER TABLE usuarios DROP COLUMN correo;
+ALTER TABLE usuarios ALTER COLUMN correo_nuevo RENAME TO correo;
+ALTER TABLE usuarios ALTER COLUMN correo SET NOT NULL;
+ALTER TABLE usuarios ADD CONSTRAINT uk_usuarios_correo UNIQUE (correo);
@@ -0,0 +1,8 @@
+-- Deja solo los dígitos en los teléfonos guardados antes de normalizarlos al escribir (H2),
+-- para que la búsqueda por número encuentre también las filas con "+57", "(1)" o "123-4567"
+
+UPDATE telefonos
+SET numero = REGEXP_REPLACE(numero, '[^0-9]', ''),
+    codigo_ciudad = REGEXP_REPLACE(codigo_ciudad, '[^0-9]', ''),
+    codigo_pais = REGEXP_REPLACE(codigo_pais, '[^0-9]', '')
+WHERE REGEXP_LIKE(numero || codigo_ciudad || codigo_pais, '[^0-9]');
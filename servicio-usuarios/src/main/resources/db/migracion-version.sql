@@ -0,0 +1,4 @@
+-- Agrega la columna de versión (bloqueo optimista y ETag) a una base existente (H2)
+-- Ejecutar una sola vez, después de migracion-ids-uuid.sql si corresponde.
+
+ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
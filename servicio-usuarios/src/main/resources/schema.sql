@@ -6,28 +6,37 @@ DROP TABLE IF EXISTS telefonos;
 DROP TABLE IF EXISTS usuarios;
 
 -- Crear tabla de usuarios
+-- Los ids son UUIDv7 (ordenados por tiempo) guardados como UUID nativo de 16 bytes
 CREATE TABLE usuarios (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     nombre VARCHAR(255) NOT NULL,
-    correo VARCHAR(255) NOT NULL UNIQUE,
+    correo VARCHAR(255) NOT NULL,
     contrasena VARCHAR(255) NOT NULL,
     creado TIMESTAMP NOT NULL,
     modificado TIMESTAMP NOT NULL,
     ultimo_login TIMESTAMP NOT NULL,
     token VARCHAR(1000),
-    activo BOOLEAN NOT NULL DEFAULT TRUE
+    activo BOOLEAN NOT NULL DEFAULT TRUE,
+    version BIGINT NOT NULL DEFAULT 0,
+    eliminado TIMESTAMP,
+    -- El registro de usuarios detecta los correos duplicados por el nombre de esta restricción, sin consulta previa
+    CONSTRAINT uk_usuarios_correo UNIQUE (correo)
 );
 
 -- Crear tabla de teléfonos con relación a usuarios
 CREATE TABLE telefonos (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     numero VARCHAR(255) NOT NULL,
     codigo_ciudad VARCHAR(255) NOT NULL,
     codigo_pais VARCHAR(255) NOT NULL,
-    usuario_id VARCHAR(36) NOT NULL,
+    usuario_id UUID NOT NULL,
     FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE
 );
 
 -- Crear índices para mejorar el rendimiento de consultas comunes
 CREATE INDEX idx_usuarios_correo ON usuarios(correo);
 CREATE INDEX idx_telefonos_usuario_id ON telefonos(usuario_id);
+-- La purga recorre los usuarios eliminados lógicamente por fecha de eliminación
+CREATE INDEX idx_usuarios_eliminado ON usuarios(eliminado);
+-- Búsqueda inversa por número; usuario_id al final permite resolverla sin leer la fila
+CREATE INDEX idx_telefonos_numero ON telefonos(codigo_pais, codigo_ciudad, numero, usuario_id);
@@ -0,0 +1,132 @@
+package com.backend.servicio.usuarios.cache;
+
+import com.backend.servicio.usuarios.exceptions.EsperaAgotadaException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CargaUnicaTest {
+
+    private static final int LECTORES = 8;
+
+    private final CargaUnica<String> carga =
+            new CargaUnica<>("prueba", Caffeine.newBuilder().buildAsync(), Duration.ofSeconds(5));
+    // Hilos propios: el pool común puede tener menos hilos que lectores bloqueados
+    private final ExecutorService hilos = Executors.newFixedThreadPool(LECTORES + 1);
+
+    @AfterEach
+    void cerrar() {
+        hilos.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test para resolver las lecturas concurrentes de la misma clave con una sola carga")
+    void lecturasConcurrentesCompartenLaCarga() throws Exception {
+        // Given
+        AtomicInteger consultas = new AtomicInteger();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> primera = CompletableFuture.supplyAsync(() -> carga.cargar("id-1", clave -> {
+            consultas.incrementAndGet();
+            enCurso.countDown();
+            esperar(liberar);
+            return "usuario " + clave;
+        }), hilos);
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        // When
+        List<CompletableFuture<String>> lecturas = new ArrayList<>();
+        for (int i = 0; i < LECTORES; i++) {
+            lecturas.add(CompletableFuture.supplyAsync(() -> carga.cargar("id-1", clave -> {
+                consultas.incrementAndGet();
+                return "repetida";
+            }), hilos));
+        }
+        while (carga.getCoalescidas() < LECTORES) {
+            Thread.onSpinWait();
+        }
+        liberar.countDown();
+
+        // Then
+        assertEquals("usuario id-1", primera.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<String> lectura : lecturas) {
+            assertEquals("usuario id-1", lectura.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, consultas.get());
+        assertEquals(1, carga.getCargas());
+        assertEquals((double) LECTORES / (LECTORES + 1), carga.coalescencia(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test para propagar el error de la carga a quienes la esperaban sin dejarlo en la cache")
+    void errorSePropagaALosQueEsperan() throws Exception {
+        // Given
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> primera = CompletableFuture.supplyAsync(() -> carga.cargar("id-1", clave -> {
+            enCurso.countDown();
+            esperar(liberar);
+            throw new IllegalStateException("base caída");
+        }), hilos);
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> espera = CompletableFuture.supplyAsync(() -> carga.cargar("id-1", clave -> "repetida"), hilos);
+        while (carga.getCoalescidas() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        liberar.countDown();
+
+        // Then
+        CompletionException error = assertThrows(CompletionException.class, () -> espera.join());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals("base caída", error.getCause().getMessage());
+        assertThrows(CompletionException.class, () -> primera.join());
+        assertEquals("recuperado", carga.cargar("id-1", clave -> "recuperado"));
+    }
+
+    @Test
+    @DisplayName("Test para lanzar EsperaAgotadaException si la carga en curso no termina a tiempo")
+    void esperaAcotada() throws Exception {
+        // Given
+        CargaUnica<String> cargaLenta =
+                new CargaUnica<>("lenta", Caffeine.newBuilder().buildAsync(), Duration.ofMillis(50));
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> primera = CompletableFuture.supplyAsync(() -> cargaLenta.cargar("id-1", clave -> {
+            enCurso.countDown();
+            esperar(liberar);
+            return "usuario";
+        }), hilos);
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        // When / Then
+        assertThrows(EsperaAgotadaException.class, () -> cargaLenta.cargar("id-1", clave -> "repetida"));
+        liberar.countDown();
+        assertEquals("usuario", primera.get(5, TimeUnit.SECONDS));
+        assertEquals("usuario", cargaLenta.cargar("id-1", clave -> "repetida"));
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
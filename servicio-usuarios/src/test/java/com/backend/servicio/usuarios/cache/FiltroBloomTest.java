@@ -0,0 +1,58 @@
+package com.backend.servicio.usuarios.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FiltroBloomTest {
+
+    private static final int CAPACIDAD = 10_000;
+    private static final double PROBABILIDAD = 0.01;
+
+    @Test
+    @DisplayName("Test para no dar falsos negativos y mantener la tasa de falsos positivos cerca de la configurada")
+    void tasaDeFalsosPositivos() {
+        // Given
+        FiltroBloom filtro = new FiltroBloom(CAPACIDAD, PROBABILIDAD);
+        for (int i = 0; i < CAPACIDAD; i++) {
+            filtro.agregar("registrado" + i + "@test.com");
+        }
+
+        // When
+        int falsosPositivos = 0;
+        int consultas = 100_000;
+        for (int i = 0; i < consultas; i++) {
+            if (filtro.podriaContener("libre" + i + "@test.com")) {
+                falsosPositivos++;
+            }
+        }
+
+        // Then
+        for (int i = 0; i < CAPACIDAD; i++) {
+            assertTrue(filtro.podriaContener("registrado" + i + "@test.com"));
+        }
+        double tasa = (double) falsosPositivos / consultas;
+        assertTrue(tasa < PROBABILIDAD * 2, "Tasa observada " + tasa);
+        assertEquals(PROBABILIDAD, filtro.probabilidadFalsoPositivo(filtro.elementos()), PROBABILIDAD / 2);
+        assertEquals(CAPACIDAD, filtro.elementos());
+    }
+
+    @Test
+    @DisplayName("Test para dimensionar el filtro con m = -n ln p / (ln 2)^2 bits y k = m/n ln 2 funciones hash")
+    void dimensionamiento() {
+        // Given
+        long bitsEsperados = (long) Math.ceil(-CAPACIDAD * Math.log(PROBABILIDAD) / (Math.log(2) * Math.log(2)));
+
+        // When
+        FiltroBloom filtro = new FiltroBloom(CAPACIDAD, PROBABILIDAD);
+
+        // Then
+        // 95.851 bits redondeados a palabras de 64 bits
+        long bytes = filtro.tamanoEnBytes();
+        assertTrue(bytes * 8 >= bitsEsperados && bytes * 8 < bitsEsperados + 64, "Bytes " + bytes);
+        assertEquals(0, filtro.elementos());
+        assertEquals(0, filtro.probabilidadFalsoPositivo(0));
+        assertTrue(filtro.probabilidadFalsoPositivo(CAPACIDAD * 2L) > PROBABILIDAD * 5);
+    }
+}
@@ -0,0 +1,108 @@
+package com.backend.servicio.usuarios.cache;
+
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class FiltroCorreosRegistradosTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private FiltroCorreosRegistrados filtroCorreos;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filtroCorreos, "capacidad", 1000L);
+        ReflectionTestUtils.setField(filtroCorreos, "probabilidadFalsoPositivo", 0.01);
+        ReflectionTestUtils.setField(filtroCorreos, "umbralReconstruccion", 0.1);
+    }
+
+    @AfterEach
+    void limpiar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Test para conservar en el filtro reconstruido un correo confirmado mientras se leía la tabla")
+    void correoConfirmadoDuranteLaReconstruccion() {
+        // Given
+        given(usuarioRepository.count()).willReturn(2L);
+        given(usuarioRepository.streamCorreos()).willReturn(Stream.of("uno@test.com", "dos@test.com")
+                // La foto ya se tomó cuando otra transacción confirma un correo nuevo
+                .peek(correo -> {
+                    if (correo.equals("dos@test.com")) {
+                        filtroCorreos.agregar("concurrente@test.com");
+                    }
+                }));
+
+        // When
+        filtroCorreos.reconstruir();
+
+        // Then
+        assertTrue(filtroCorreos.podriaEstarRegistrado("uno@test.com"));
+        assertTrue(filtroCorreos.podriaEstarRegistrado("dos@test.com"));
+        assertTrue(filtroCorreos.podriaEstarRegistrado("concurrente@test.com"));
+        assertFalse(filtroCorreos.podriaEstarRegistrado("libre@test.com"));
+        // Los agregados durante la carga se suman a los leídos en lugar de perderse
+        assertEquals(3, filtroCorreos.elementos());
+    }
+
+    @Test
+    @DisplayName("Test para agregar el correo al filtro solo cuando la transacción se confirma")
+    void agregarAlConfirmar() {
+        // Given
+        given(usuarioRepository.count()).willReturn(0L);
+        given(usuarioRepository.streamCorreos()).willReturn(Stream.empty());
+        filtroCorreos.reconstruir();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        filtroCorreos.agregar("nuevo@test.com");
+        boolean antesDelCommit = filtroCorreos.podriaEstarRegistrado("nuevo@test.com");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertFalse(antesDelCommit);
+        assertTrue(filtroCorreos.podriaEstarRegistrado("nuevo@test.com"));
+        assertEquals(1, filtroCorreos.elementos());
+    }
+
+    @Test
+    @DisplayName("Test para mantener los correos obsoletos marcados durante la reconstrucción")
+    void obsoletosDuranteLaReconstruccion() {
+        // Given
+        given(usuarioRepository.count()).willReturn(1L);
+        filtroCorreos.marcarObsoleto();
+        given(usuarioRepository.streamCorreos()).willReturn(Stream.of("uno@test.com")
+                .peek(correo -> filtroCorreos.marcarObsoleto()));
+
+        // When
+        filtroCorreos.reconstruir();
+
+        // Then
+        assertEquals(1, filtroCorreos.getObsoletos());
+    }
+}
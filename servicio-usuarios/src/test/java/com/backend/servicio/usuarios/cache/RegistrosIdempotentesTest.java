@@ -0,0 +1,112 @@
+package com.backend.servicio.usuarios.cache;
+
+import com.backend.servicio.usuarios.dto.UsuarioResponse;
+import com.backend.servicio.usuarios.exceptions.ClaveIdempotenciaReutilizadaException;
+import com.backend.servicio.usuarios.exceptions.CorreoRegistradoException;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistrosIdempotentesTest {
+
+    private final RegistrosIdempotentes registros = new RegistrosIdempotentes(100, 60, 5000);
+    private final UsuarioResponse respuesta = new UsuarioResponse("id-1", LocalDateTime.now(), LocalDateTime.now(),
+            LocalDateTime.now(), "token", true);
+    private final Usuario juan = usuario("juan@test.com", "password123", "5551234");
+
+    @Test
+    @DisplayName("Test para responder los duplicados concurrentes y los reintentos con el resultado de la primera petición")
+    void duplicadosEsperanLaPeticionEnCurso() throws Exception {
+        // Given
+        AtomicInteger creaciones = new AtomicInteger();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<RegistrosIdempotentes.Resultado> primera = CompletableFuture.supplyAsync(() ->
+                registros.registrar("clave-1", juan, () -> {
+                    creaciones.incrementAndGet();
+                    enCurso.countDown();
+                    liberar.await();
+                    return respuesta;
+                }));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<RegistrosIdempotentes.Resultado> concurrente = CompletableFuture.supplyAsync(() ->
+                registros.registrar("clave-1", juan, () -> {
+                    creaciones.incrementAndGet();
+                    return respuesta;
+                }));
+        liberar.countDown();
+        RegistrosIdempotentes.Resultado reintento = registros.registrar("clave-1", juan, () -> {
+            creaciones.incrementAndGet();
+            return respuesta;
+        });
+
+        // Then
+        assertFalse(primera.get(5, TimeUnit.SECONDS).repetida());
+        assertTrue(concurrente.get(5, TimeUnit.SECONDS).repetida());
+        assertSame(respuesta, concurrente.get().respuesta());
+        assertTrue(reintento.repetida());
+        // El cliente cuya primera respuesta se perdió recibe el token al reintentar con el mismo cuerpo
+        assertSame(respuesta, reintento.respuesta());
+        assertEquals("token", reintento.respuesta().getToken());
+        assertEquals(1, creaciones.get());
+        assertEquals(2, registros.getRepetidas());
+    }
+
+    @Test
+    @DisplayName("Test para liberar la clave cuando el registro falla y rechazar su uso con otro cuerpo")
+    void fallosNoSeGuardanYLaClaveQuedaLigadaAlCuerpo() {
+        // Given
+        assertThrows(CorreoRegistradoException.class, () -> registros.registrar("clave-2", juan, () -> {
+            throw new CorreoRegistradoException("El correo ya está registrado");
+        }));
+
+        // When
+        RegistrosIdempotentes.Resultado resultado = registros.registrar("clave-2", juan, () -> respuesta);
+
+        // Then
+        assertFalse(resultado.repetida());
+        // El mismo correo con otra contraseña u otro teléfono es otro cuerpo, igual que otro correo
+        assertThrows(ClaveIdempotenciaReutilizadaException.class, () -> registros.registrar("clave-2",
+                usuario("juan@test.com", "adivinada1", "5551234"), () -> respuesta));
+        assertThrows(ClaveIdempotenciaReutilizadaException.class, () -> registros.registrar("clave-2",
+                usuario("juan@test.com", "password123", "5559999"), () -> respuesta));
+        assertThrows(ClaveIdempotenciaReutilizadaException.class, () -> registros.registrar("clave-2",
+                usuario("otro@test.com", "password123", "5551234"), () -> respuesta));
+        assertEquals(0, registros.getRepetidas());
+    }
+
+    @Test
+    @DisplayName("Test para calcular la misma huella solo para el mismo cuerpo")
+    void huellaDelCuerpoCompleto() {
+        // Given
+        Usuario igual = usuario("juan@test.com", "password123", "5551234");
+        Usuario camposCorridos = new Usuario("Juan", "juan@test.co", "mpassword123",
+                new ArrayList<>(List.of(new Telefono("5551234", "1", "57"))));
+
+        // When
+        byte[] huella = RegistrosIdempotentes.huella(juan);
+
+        // Then
+        assertArrayEquals(huella, RegistrosIdempotentes.huella(igual));
+        assertFalse(Arrays.equals(huella, RegistrosIdempotentes.huella(camposCorridos)));
+        assertEquals(32, huella.length);
+    }
+
+    private static Usuario usuario(String correo, String contrasena, String numero) {
+        return new Usuario("Juan", correo, contrasena, new ArrayList<>(List.of(new Telefono(numero, "1", "57"))));
+    }
+}
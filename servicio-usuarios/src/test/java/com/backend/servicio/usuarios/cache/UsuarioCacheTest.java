@@ -0,0 +1,143 @@
+package com.backend.servicio.usuarios.cache;
+
+import com.backend.servicio.usuarios.dto.TelefonoVista;
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.backend.servicio.usuarios.metrics.ContadorSentenciasSql;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import com.backend.servicio.usuarios.services.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UsuarioCacheTest {
+
+    private static final String CORREO = "cache@test.com";
+
+    @Autowired
+    private UsuarioCache usuarioCache;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private String id;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository.deleteAll();
+        List<Telefono> telefonos = new ArrayList<>(List.of(new Telefono("5551234", "1", "57")));
+        id = usuarioRepository.save(new Usuario("Cache", CORREO, "password123", telefonos)).getId();
+        // deleteAll no pasa por el servicio: el correo puede seguir apuntando al usuario de otra prueba
+        usuarioCache.invalidar(id, CORREO);
+    }
+
+    @Test
+    @DisplayName("Test para consultar la base solo en el primer acceso y responder los siguientes desde la cache")
+    void aciertoDespuesDeFallo() {
+        // Given
+        long aciertos = usuarioCache.estadisticasPorId().hitCount();
+        ContadorSentenciasSql.iniciar();
+        UsuarioVista primera = usuarioCache.buscarPorId(id);
+        int sentenciasFallo = ContadorSentenciasSql.detener();
+
+        // When
+        ContadorSentenciasSql.iniciar();
+        UsuarioVista segunda = usuarioCache.buscarPorId(id);
+        UsuarioVista porCorreo = usuarioCache.buscarPorCorreo(CORREO);
+        usuarioCache.buscarPorCorreo(CORREO);
+        int sentenciasAcierto = ContadorSentenciasSql.detener();
+
+        // Then
+        assertTrue(sentenciasFallo > 0);
+        assertSame(primera, segunda);
+        assertSame(primera, porCorreo);
+        // Solo la primera búsqueda por correo consulta el id; el usuario sale de porId
+        assertEquals(1, sentenciasAcierto);
+        assertTrue(usuarioCache.estadisticasPorId().hitCount() >= aciertos + 3);
+    }
+
+    @Test
+    @DisplayName("Test para no cachear un id inexistente y consultarlo de nuevo en cada búsqueda")
+    void inexistenteNoSeCachea() {
+        // Given
+        String inexistente = "0190a000-0000-7000-8000-000000000000";
+        usuarioCache.buscarPorId(inexistente);
+
+        // When
+        ContadorSentenciasSql.iniciar();
+        UsuarioVista usuario = usuarioCache.buscarPorId(inexistente);
+        int sentencias = ContadorSentenciasSql.detener();
+
+        // Then
+        assertNull(usuario);
+        assertEquals(1, sentencias);
+    }
+
+    @Test
+    @DisplayName("Test para invalidar la cache por id y por ambos correos al actualizar el usuario")
+    void invalidacionAlActualizar() {
+        // Given
+        usuarioCache.buscarPorId(id);
+        usuarioCache.buscarPorCorreo(CORREO);
+        Usuario cambios = new Usuario("Cache Actualizado", "nuevo-cache@test.com", null, new ArrayList<>());
+
+        // When
+        usuarioService.update(id, cambios);
+
+        // Then
+        UsuarioVista actualizado = usuarioCache.buscarPorId(id);
+        assertEquals("Cache Actualizado", actualizado.nombre());
+        assertEquals("nuevo-cache@test.com", actualizado.correo());
+        assertEquals(actualizado, usuarioCache.buscarPorCorreo("nuevo-cache@test.com"));
+        assertNull(usuarioCache.buscarPorCorreo(CORREO));
+    }
+
+    @Test
+    @DisplayName("Test para dejar de encontrar en la cache un usuario eliminado")
+    void invalidacionAlEliminar() throws Exception {
+        // Given
+        assertNotNull(usuarioCache.buscarPorId(id));
+        assertNotNull(usuarioCache.buscarPorCorreo(CORREO));
+
+        // When
+        usuarioService.delete(id);
+
+        // Then
+        assertNull(usuarioCache.buscarPorId(id));
+        assertNull(usuarioCache.buscarPorCorreo(CORREO));
+    }
+
+    @Test
+    @DisplayName("Test para guardar una vista separada de la entidad que no cambia al modificar la entidad")
+    void vistaSeparadaDeLaEntidad() {
+        // Given
+        UsuarioVista cacheado = usuarioCache.buscarPorId(id);
+        Usuario entidad = usuarioRepository.findById(id).orElseThrow();
+
+        // When
+        entidad.setNombre("Cambio sin guardar");
+        entidad.getTelefonos().clear();
+
+        // Then
+        UsuarioVista leido = usuarioCache.buscarPorId(id);
+        assertSame(cacheado, leido);
+        assertEquals("Cache", leido.nombre());
+        assertEquals(1, leido.telefonos().size());
+        assertThrows(UnsupportedOperationException.class,
+                () -> leido.telefonos().add(new TelefonoVista(id, "otro", "1", "1", "1")));
+    }
+}
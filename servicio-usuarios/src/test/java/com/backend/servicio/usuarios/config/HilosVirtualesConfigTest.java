@@ -0,0 +1,21 @@
+package com.backend.servicio.usuarios.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HilosVirtualesConfigTest {
+
+    @Test
+    @DisplayName("Test para detener el arranque del perfil virtual en una JVM anterior a Java 21")
+    void perfilVirtualRequiereJava21() {
+        // When
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> HilosVirtualesConfig.verificarVersion(17));
+
+        // Then
+        assertTrue(error.getMessage().contains("Java 17"));
+        assertDoesNotThrow(() -> HilosVirtualesConfig.verificarVersion(21));
+    }
+}
@@ -1,7 +1,13 @@
 package com.backend.servicio.usuarios.controllers;
 
 import com.backend.servicio.usuarios.dto.MensajeErrorResponse;
+import com.backend.servicio.usuarios.dto.PaginaResponse;
+import com.backend.servicio.usuarios.dto.ResultadoBusqueda;
+import com.backend.servicio.usuarios.dto.TelefonoVista;
+import com.backend.servicio.usuarios.dto.UsuarioJson;
 import com.backend.servicio.usuarios.dto.UsuarioResponse;
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.backend.servicio.usuarios.exceptions.CorreoRegistradoException;
 import com.backend.servicio.usuarios.models.entity.Telefono;
 import com.backend.servicio.usuarios.models.entity.Usuario;
 import com.backend.servicio.usuarios.services.UsuarioService;
@@ -12,9 +18,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,9 +44,10 @@ public class UsuarioControllerTest {
     private UsuarioController usuarioController;
 
     private Usuario usuario;
-    private List<Usuario> usuarioList;
     private String userId;
     private UsuarioResponse usuarioResponse;
+    private UsuarioVista usuarioVista;
+    private UsuarioJson usuarioJson;
 
     @BeforeEach
     void setUp() {
@@ -62,8 +71,18 @@ public class UsuarioControllerTest {
         telefonos.add(telefono);
         usuario.setTelefonos(telefonos);
 
-        usuarioList = new ArrayList<>();
-        usuarioList.add(usuario);
+        usuarioVista = new UsuarioVista(
+                userId,
+                "Usuario Test",
+                "test@test.com",
+                List.of(new TelefonoVista(userId, telefono.getId(), "123456789", "1", "56")),
+                usuario.getCreado(),
+                usuario.getModificado(),
+                usuario.getUltimoLogin(),
+                true,
+                1L
+        );
+        usuarioJson = new UsuarioJson(1L, "{\"id\":\"%s\"}".formatted(userId).getBytes(StandardCharsets.UTF_8));
 
         usuarioResponse = new UsuarioResponse(
                 userId,
@@ -79,98 +98,150 @@ public class UsuarioControllerTest {
     @DisplayName("Test para obtener todos los usuarios con éxito")
     void findAllUsuariosSuccess() {
         // Given
-        given(usuarioService.findAll()).willReturn(usuarioList);
+        PaginaResponse<UsuarioVista> pagina = new PaginaResponse<>(List.of(usuarioVista), "c2lndWllbnRl");
+        given(usuarioService.findPagina(null, null)).willReturn(pagina);
 
         // When
-        ResponseEntity<?> response = usuarioController.findAllUsuarios();
+        ResponseEntity<?> response = usuarioController.findAllUsuarios(null, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(usuarioList, response.getBody());
-        verify(usuarioService, times(1)).findAll();
+        assertEquals(pagina, response.getBody());
+        verify(usuarioService, times(1)).findPagina(null, null);
     }
 
     @Test
     @DisplayName("Test para obtener todos los usuarios cuando la lista está vacía")
     void findAllUsuariosEmpty() {
         // Given
-        given(usuarioService.findAll()).willReturn(new ArrayList<>());
+        given(usuarioService.findPagina(null, null)).willReturn(new PaginaResponse<>(new ArrayList<>(), null));
 
         // When
-        ResponseEntity<?> response = usuarioController.findAllUsuarios();
+        ResponseEntity<?> response = usuarioController.findAllUsuarios(null, null);
 
         // Then
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertInstanceOf(MensajeErrorResponse.class, response.getBody());
         MensajeErrorResponse errorResponse = (MensajeErrorResponse) response.getBody();
         assertEquals("No se encontraron registros", errorResponse.getMensaje());
-        verify(usuarioService, times(1)).findAll();
+        verify(usuarioService, times(1)).findPagina(null, null);
+    }
+
+    @Test
+    @DisplayName("Test para obtener todos los usuarios con un cursor inválido")
+    void findAllUsuariosCursorInvalido() {
+        // Given
+        given(usuarioService.findPagina("no-valido", 10))
+                .willThrow(new IllegalArgumentException("El cursor de paginación es inválido."));
+
+        // When
+        ResponseEntity<?> response = usuarioController.findAllUsuarios("no-valido", 10);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertInstanceOf(MensajeErrorResponse.class, response.getBody());
+        MensajeErrorResponse errorResponse = (MensajeErrorResponse) response.getBody();
+        assertEquals("El cursor de paginación es inválido.", errorResponse.getMensaje());
+        verify(usuarioService, times(1)).findPagina("no-valido", 10);
     }
 
     @Test
     @DisplayName("Test para obtener todos los usuarios cuando ocurre una excepción")
     void findAllUsuariosException() {
         // Given
-        given(usuarioService.findAll()).willThrow(new RuntimeException("Error al obtener usuarios"));
+        given(usuarioService.findPagina(null, null)).willThrow(new RuntimeException("Error al obtener usuarios"));
 
         // When
-        ResponseEntity<?> response = usuarioController.findAllUsuarios();
+        ResponseEntity<?> response = usuarioController.findAllUsuarios(null, null);
 
         // Then
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertInstanceOf(MensajeErrorResponse.class, response.getBody());
         MensajeErrorResponse errorResponse = (MensajeErrorResponse) response.getBody();
         assertEquals("Error al obtener usuarios", errorResponse.getMensaje());
-        verify(usuarioService, times(1)).findAll();
+        verify(usuarioService, times(1)).findPagina(null, null);
+    }
+
+    @Test
+    @DisplayName("Test para buscar usuarios por texto parcial")
+    void buscarUsuariosSuccess() {
+        // Given
+        List<ResultadoBusqueda> resultados = List.of(new ResultadoBusqueda(userId, "Usuario Test", "test@test.com", 3f));
+        given(usuarioService.buscar("test", null)).willReturn(resultados);
+
+        // When
+        ResponseEntity<?> response = usuarioController.buscarUsuarios("test", null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(resultados, response.getBody());
+        verify(usuarioService, times(1)).buscar("test", null);
     }
 
     @Test
     @DisplayName("Test para obtener un usuario por ID con éxito")
     void findByIdUsuarioSuccess() throws Exception{
         // Given
-        given(usuarioService.findById(userId)).willReturn(usuario);
+        given(usuarioService.findJsonById(userId)).willReturn(usuarioJson);
 
         // When
-        ResponseEntity<?> response = usuarioController.findByIdUsuario(userId);
+        ResponseEntity<?> response = usuarioController.findByIdUsuario(userId, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(usuario, response.getBody());
-        verify(usuarioService, times(1)).findById(userId);
+        assertArrayEquals(usuarioJson.json(), (byte[]) response.getBody());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        verify(usuarioService, times(1)).findJsonById(userId);
+    }
+
+    @Test
+    @DisplayName("Test para responder 304 desde la cache cuando el ETag de If-None-Match sigue vigente")
+    void findByIdUsuarioNoModificado() throws Exception {
+        // Given
+        given(usuarioService.findJsonById(userId)).willReturn(usuarioJson);
+
+        // When
+        ResponseEntity<?> response = usuarioController.findByIdUsuario(userId, "\"1\"");
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(usuarioService, times(1)).findJsonById(userId);
     }
 
     @Test
     @DisplayName("Test para obtener un usuario por ID cuando no existe")
     void findByIdUsuarioNotFound() throws Exception {
         // Given
-        given(usuarioService.findById(userId)).willReturn(null);
+        given(usuarioService.findJsonById(userId)).willReturn(null);
 
         // When
-        ResponseEntity<?> response = usuarioController.findByIdUsuario(userId);
+        ResponseEntity<?> response = usuarioController.findByIdUsuario(userId, null);
 
         // Then
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertInstanceOf(MensajeErrorResponse.class, response.getBody());
         MensajeErrorResponse errorResponse = (MensajeErrorResponse) response.getBody();
         assertEquals("Usuario no encontrado con el id: " + userId, errorResponse.getMensaje());
-        verify(usuarioService, times(1)).findById(userId);
+        verify(usuarioService, times(1)).findJsonById(userId);
     }
 
     @Test
     @DisplayName("Test para obtener un usuario por ID cuando ocurre una excepción")
     void findByIdUsuarioException() throws Exception {
         // Given
-        given(usuarioService.findById(userId)).willThrow(new RuntimeException("Error al obtener usuario"));
+        given(usuarioService.findJsonById(userId)).willThrow(new RuntimeException("Error al obtener usuario"));
 
         // When
-        ResponseEntity<?> response = usuarioController.findByIdUsuario(userId);
+        ResponseEntity<?> response = usuarioController.findByIdUsuario(userId, null);
 
         // Then
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertInstanceOf(MensajeErrorResponse.class, response.getBody());
         MensajeErrorResponse errorResponse = (MensajeErrorResponse) response.getBody();
         assertEquals("Error al obtener usuario", errorResponse.getMensaje());
-        verify(usuarioService, times(1)).findById(userId);
+        verify(usuarioService, times(1)).findJsonById(userId);
     }
 
     @Test
@@ -180,7 +251,7 @@ public class UsuarioControllerTest {
         given(usuarioService.save(any(Usuario.class))).willReturn(usuarioResponse);
 
         // When
-        ResponseEntity<?> response = usuarioController.createUsuario(usuario);
+        ResponseEntity<?> response = usuarioController.createUsuario(usuario, null);
 
         // Then
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
@@ -195,7 +266,7 @@ public class UsuarioControllerTest {
         given(usuarioService.save(any(Usuario.class))).willReturn(null);
 
         // When
-        ResponseEntity<?> response = usuarioController.createUsuario(usuario);
+        ResponseEntity<?> response = usuarioController.createUsuario(usuario, null);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -212,7 +283,7 @@ public class UsuarioControllerTest {
         given(usuarioService.save(any(Usuario.class))).willThrow(new RuntimeException("Error al guardar usuario"));
 
         // When
-        ResponseEntity<?> response = usuarioController.createUsuario(usuario);
+        ResponseEntity<?> response = usuarioController.createUsuario(usuario, null);
 
         // Then
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
@@ -222,6 +293,23 @@ public class UsuarioControllerTest {
         verify(usuarioService, times(1)).save(usuario);
     }
 
+    @Test
+    @DisplayName("Test para responder 409 cuando el correo ya está registrado")
+    void createUsuarioCorreoRegistrado() throws Exception {
+        // Given
+        given(usuarioService.save(any(Usuario.class))).willThrow(new CorreoRegistradoException("El correo ya está registrado"));
+
+        // When
+        CorreoRegistradoException error = assertThrows(CorreoRegistradoException.class,
+                () -> usuarioController.createUsuario(usuario, null));
+        ResponseEntity<MensajeErrorResponse> response = new ManejadorErrores().correoRegistrado(error);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("El correo ya está registrado", response.getBody().getMensaje());
+        assertEquals(0, error.getStackTrace().length);
+    }
+
     @Test
     @DisplayName("Test para actualizar un usuario con éxito")
     void updateUsuarioSuccess() {
@@ -229,7 +317,7 @@ public class UsuarioControllerTest {
         given(usuarioService.update(eq(userId), any(Usuario.class))).willReturn(usuario);
 
         // When
-        ResponseEntity<?> response = usuarioController.updateUsuario(userId, usuario);
+        ResponseEntity<?> response = usuarioController.updateUsuario(userId, usuario, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -244,7 +332,7 @@ public class UsuarioControllerTest {
         given(usuarioService.update(eq(userId), any(Usuario.class))).willReturn(null);
 
         // When
-        ResponseEntity<?> response = usuarioController.updateUsuario(userId, usuario);
+        ResponseEntity<?> response = usuarioController.updateUsuario(userId, usuario, null);
 
         // Then
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -261,7 +349,7 @@ public class UsuarioControllerTest {
         given(usuarioService.update(eq(userId), any(Usuario.class))).willThrow(new RuntimeException("Error al actualizar usuario"));
 
         // When
-        ResponseEntity<?> response = usuarioController.updateUsuario(userId, usuario);
+        ResponseEntity<?> response = usuarioController.updateUsuario(userId, usuario, null);
 
         // Then
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
@@ -271,6 +359,41 @@ public class UsuarioControllerTest {
         verify(usuarioService, times(1)).update(userId, usuario);
     }
 
+    @Test
+    @DisplayName("Test para responder 412 cuando la versión de If-Match ya no es la actual")
+    void updateUsuarioPrecondicionFallida() {
+        // Given
+        given(usuarioService.update(eq(userId), any(Usuario.class)))
+                .willThrow(new OptimisticLockingFailureException("El usuario fue modificado"));
+
+        // When
+        ResponseEntity<?> response = usuarioController.updateUsuario(userId, usuario, "\"1\"");
+
+        // Then
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertEquals(1L, usuario.getVersion());
+        verify(usuarioService, times(1)).update(userId, usuario);
+    }
+
+    @Test
+    @DisplayName("Test para responder 409 a una actualización concurrente sin If-Match")
+    void updateUsuarioConcurrenteSinIfMatch() throws Exception {
+        // Given
+        given(usuarioService.update(eq(userId), any(Usuario.class)))
+                .willThrow(new OptimisticLockingFailureException("El usuario fue modificado"));
+        given(usuarioService.parcialUpdate(eq(userId), any(Usuario.class)))
+                .willThrow(new OptimisticLockingFailureException("El usuario fue modificado"));
+
+        // When
+        ResponseEntity<?> put = usuarioController.updateUsuario(userId, usuario, null);
+        ResponseEntity<?> patch = usuarioController.parcialUpdateUsuario(userId, usuario, "*");
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, put.getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, patch.getStatusCode());
+        assertInstanceOf(MensajeErrorResponse.class, put.getBody());
+    }
+
     @Test
     @DisplayName("Test para actualizar parcialmente un usuario con éxito")
     void parcialUpdateUsuarioSuccess() throws Exception {
@@ -278,7 +401,7 @@ public class UsuarioControllerTest {
         given(usuarioService.parcialUpdate(eq(userId), any(Usuario.class))).willReturn(usuario);
 
         // When
-        ResponseEntity<?> response = usuarioController.parcialUpdateUsuario(userId, usuario);
+        ResponseEntity<?> response = usuarioController.parcialUpdateUsuario(userId, usuario, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -293,7 +416,7 @@ public class UsuarioControllerTest {
         given(usuarioService.parcialUpdate(eq(userId), any(Usuario.class))).willReturn(null);
 
         // When
-        ResponseEntity<?> response = usuarioController.parcialUpdateUsuario(userId, usuario);
+        ResponseEntity<?> response = usuarioController.parcialUpdateUsuario(userId, usuario, null);
 
         // Then
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -310,7 +433,7 @@ public class UsuarioControllerTest {
         given(usuarioService.parcialUpdate(eq(userId), any(Usuario.class))).willThrow(new RuntimeException("Error al actualizar usuario"));
 
         // When
-        ResponseEntity<?> response = usuarioController.parcialUpdateUsuario(userId, usuario);
+        ResponseEntity<?> response = usuarioController.parcialUpdateUsuario(userId, usuario, null);
 
         // Then
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
@@ -0,0 +1,77 @@
+package com.backend.servicio.usuarios.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataSourceInstrumentadoTest {
+
+    private HikariDataSource pool;
+    private DataSourceInstrumentado dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:instrumentado;DB_CLOSE_DELAY=-1");
+        dataSource = new DataSourceInstrumentado(pool);
+        try (Connection conexion = pool.getConnection(); Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("CREATE TABLE IF NOT EXISTS prueba (valor INT)");
+            sentencia.execute("DELETE FROM prueba");
+        }
+    }
+
+    @AfterEach
+    void cerrar() throws Exception {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Test para contar cada ejecución de sentencia y no cada preparación")
+    void cuentaEjecuciones() throws Exception {
+        // Given
+        ContadorSentenciasSql.iniciar();
+
+        // When
+        try (Connection conexion = dataSource.getConnection()) {
+            conexion.prepareStatement("SELECT 1").close();
+            try (PreparedStatement insertar = conexion.prepareStatement("INSERT INTO prueba (valor) VALUES (?)")) {
+                for (int i = 0; i < 5; i++) {
+                    insertar.setInt(1, i);
+                    insertar.addBatch();
+                }
+                insertar.executeBatch();
+            }
+            try (PreparedStatement consultar = conexion.prepareStatement("SELECT COUNT(*) FROM prueba WHERE valor > ?")) {
+                for (int i = 0; i < 3; i++) {
+                    consultar.setInt(1, i);
+                    consultar.executeQuery().close();
+                }
+            }
+        }
+
+        // Then
+        // Un batch de 5 filas y 3 ejecuciones de la misma sentencia; la sentencia sin ejecutar no cuenta
+        assertEquals(1 + 3, ContadorSentenciasSql.detener());
+    }
+
+    @Test
+    @DisplayName("Test para cerrar el pool al cerrar el DataSource instrumentado")
+    void cierraElPool() throws Exception {
+        // Given
+        dataSource.getConnection().close();
+
+        // When
+        dataSource.close();
+
+        // Then
+        assertTrue(pool.isClosed());
+    }
+}
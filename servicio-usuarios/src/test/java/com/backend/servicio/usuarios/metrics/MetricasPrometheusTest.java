@@ -0,0 +1,71 @@
+package com.backend.servicio.usuarios.metrics;
+
+import com.backend.servicio.usuarios.jwt.JwtAuthenticationFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// Las pruebas desactivan la exportación de métricas por defecto; sin esto no existe /actuator/prometheus
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricasPrometheusTest {
+
+    // El scrape queda en disco para poder revisarlo o cargarlo en un Prometheus local
+    private static final Path ARCHIVO_SCRAPE = Path.of("target", "prometheus-scrape.txt");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Test para exponer en formato Prometheus las métricas de endpoints, servicio, JWT, pool y SQL")
+    void exponerMetricasPrometheus() throws Exception {
+        // Given
+        HttpHeaders cabeceras = new HttpHeaders();
+        cabeceras.setContentType(MediaType.APPLICATION_JSON);
+        String usuario = "{\"nombre\":\"Metricas\",\"correo\":\"metricas@test.com\",\"contrasena\":\"Password123\","
+                + "\"telefonos\":[{\"numero\":\"1234567\",\"codigoCiudad\":\"1\",\"codigoPais\":\"57\"}]}";
+        restTemplate.postForEntity("/api/usuarios", new HttpEntity<>(usuario, cabeceras), String.class);
+
+        HttpHeaders autenticado = new HttpHeaders();
+        autenticado.setBearerAuth(JwtAuthenticationFilter.generateToken("metricas@test.com"));
+        restTemplate.exchange("/api/usuarios", HttpMethod.GET, new HttpEntity<>(autenticado), String.class);
+
+        // When
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        Files.createDirectories(ARCHIVO_SCRAPE.getParent());
+        Files.writeString(ARCHIVO_SCRAPE, scrape.getBody(), StandardCharsets.UTF_8);
+
+        // Then
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        String metricas = Files.readString(ARCHIVO_SCRAPE, StandardCharsets.UTF_8);
+        List<String> esperadas = List.of(
+                "http_server_requests_seconds_bucket",
+                "usuarios_servicio_seconds_bucket",
+                "usuarios_jwt_seconds_count{",
+                "usuarios_sql_sentencias_count{",
+                "hikaricp_connections_pending",
+                "cache_gets_total{",
+                "usuarios_bloom_memoria_bytes");
+        for (String metrica : esperadas) {
+            assertTrue(metricas.contains(metrica), "Falta la métrica " + metrica);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.servicio.usuarios.models.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidTextoConverterTest {
+
+    private final UuidTextoConverter converter = new UuidTextoConverter();
+
+    @Test
+    @DisplayName("Test para guardar el id como UUID y leerlo con el mismo texto")
+    void idaYVuelta() {
+        // Given
+        String id = IdentificadorOrdenado.nuevo();
+
+        // When
+        UUID guardado = converter.convertToDatabaseColumn(id);
+
+        // Then
+        assertEquals(UUID.fromString(id), guardado);
+        assertEquals(id, converter.convertToEntityAttribute(guardado));
+    }
+
+    @Test
+    @DisplayName("Test para convertir un id mal formado en un UUID que no existe en la tabla")
+    void idMalFormado() {
+        // When
+        UUID guardado = converter.convertToDatabaseColumn("no-es-un-uuid");
+
+        // Then
+        assertEquals(new UUID(0, 0), guardado);
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
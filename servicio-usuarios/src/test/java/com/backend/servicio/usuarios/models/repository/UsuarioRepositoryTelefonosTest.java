@@ -0,0 +1,95 @@
+package com.backend.servicio.usuarios.models.repository;
+
+import com.backend.servicio.usuarios.metrics.ContadorSentenciasSql;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Cada prueba lee con un EntityManager nuevo y sin la cache compartida de EclipseLink: ni el contexto de
+// persistencia ni la cache de segundo nivel tienen los usuarios o sus teléfonos, así que todo sale de la base
+@SpringBootTest
+@ActiveProfiles("test")
+public class UsuarioRepositoryTelefonosTest {
+
+    private static final int CANTIDAD_USUARIOS = 25;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository.deleteAll();
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < CANTIDAD_USUARIOS; i++) {
+            List<Telefono> telefonos = new ArrayList<>();
+            telefonos.add(new Telefono("12345678" + i, "1", "57"));
+            telefonos.add(new Telefono("98765432" + i, "2", "57"));
+            Usuario usuario = new Usuario("Usuario " + i, "usuario" + i + "@test.com", "password123", telefonos);
+            usuarios.add(usuario);
+        }
+        usuarioRepository.saveAll(usuarios);
+        entityManagerFactory.getCache().evictAll();
+        entityManager = entityManagerFactory.createEntityManager();
+    }
+
+    @AfterEach
+    void cerrar() {
+        entityManager.close();
+    }
+
+    @Test
+    @DisplayName("Test para listar N usuarios con sus teléfonos en una cantidad fija de consultas")
+    void listarUsuariosConTelefonosSinNmasUno() {
+        // Given
+        ContadorSentenciasSql.iniciar();
+
+        // When
+        List<Usuario> usuarios = entityManager
+                .createQuery("SELECT u FROM Usuario u WHERE u.eliminado IS NULL ORDER BY u.id", Usuario.class)
+                .setMaxResults(CANTIDAD_USUARIOS)
+                .getResultList();
+        int telefonos = usuarios.stream().mapToInt(usuario -> usuario.getTelefonos().size()).sum();
+
+        // Then
+        assertEquals(CANTIDAD_USUARIOS, usuarios.size());
+        assertEquals(CANTIDAD_USUARIOS * 2, telefonos);
+        // Un SELECT de usuarios y un SELECT de teléfonos con IN (@BatchFetch), sin importar N
+        assertEquals(2, ContadorSentenciasSql.detener());
+    }
+
+    @Test
+    @DisplayName("Test para leer los teléfonos de un usuario con una sola consulta adicional")
+    void obtenerUsuarioConTelefonos() {
+        // Given
+        String id = usuarioRepository.findVistas(Limit.of(1)).get(0).id();
+        entityManagerFactory.getCache().evictAll();
+        ContadorSentenciasSql.iniciar();
+
+        // When
+        Usuario usuario = entityManager.find(Usuario.class, id);
+        int telefonos = usuario.getTelefonos().size();
+
+        // Then
+        assertEquals(2, telefonos);
+        assertEquals(2, ContadorSentenciasSql.detener());
+    }
+}
@@ -0,0 +1,147 @@
+package com.backend.servicio.usuarios.search;
+
+import com.backend.servicio.usuarios.dto.ResultadoBusqueda;
+import com.backend.servicio.usuarios.dto.UsuarioResumen;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class IndiceBusquedaUsuariosTest {
+
+    private IndiceBusquedaUsuarios indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBusquedaUsuarios();
+        indice.indexarAhora("1", "Juan Pérez", "juan.perez@ejemplo.com");
+        indice.indexarAhora("2", "Juana Gómez", "jgomez@ejemplo.com");
+        indice.indexarAhora("3", "Pedro Juárez", "pedro@otro.org");
+    }
+
+    @Test
+    @DisplayName("Test para ordenar la coincidencia exacta antes que la de prefijo")
+    void buscarPorPrefijoOrdenado() {
+        // When
+        List<ResultadoBusqueda> resultados = indice.buscar("juan", 10);
+
+        // Then
+        assertEquals(List.of("1", "2"), resultados.stream().map(ResultadoBusqueda::id).toList());
+        assertTrue(resultados.get(0).puntaje() > resultados.get(1).puntaje());
+    }
+
+    @Test
+    @DisplayName("Test para buscar sin tildes, por varias palabras y por partes del correo")
+    void buscarPorVariasPalabras() {
+        // When
+        List<ResultadoBusqueda> resultados = indice.buscar("perez ejemplo", 10);
+
+        // Then
+        assertEquals(1, resultados.size());
+        assertEquals("juan.perez@ejemplo.com", resultados.get(0).correo());
+    }
+
+    @Test
+    @DisplayName("Test para encontrar un término con un error de tipeo")
+    void buscarAproximado() {
+        // When
+        List<ResultadoBusqueda> resultados = indice.buscar("pdero", 10);
+
+        // Then
+        assertEquals(List.of("3"), resultados.stream().map(ResultadoBusqueda::id).toList());
+    }
+
+    @Test
+    @DisplayName("Test para reflejar modificaciones y eliminaciones y acotar la cantidad de resultados")
+    void actualizarEliminarYLimitar() {
+        // When
+        indice.indexarAhora("2", "Ana Gómez", "agomez@ejemplo.com");
+        indice.eliminarAhora("1");
+
+        // Then
+        assertTrue(indice.buscar("juan", 10).isEmpty());
+        assertEquals(1, indice.buscar("ejemplo", 1).size());
+        assertEquals(2, indice.getDocumentos());
+        assertTrue(indice.memoriaEstimadaEnBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Test para no pisar con la lectura de la tabla los cambios confirmados durante la construcción")
+    void cambiosDuranteLaConstruccion() {
+        // Given
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+        IndiceBusquedaUsuarios nuevo = new IndiceBusquedaUsuarios();
+        ReflectionTestUtils.setField(nuevo, "usuarioRepository", usuarioRepository);
+        ReflectionTestUtils.setField(nuevo, "transactionManager", mock(PlatformTransactionManager.class));
+        given(usuarioRepository.streamResumenes()).willReturn(Stream.of(
+                new UsuarioResumen("1", "Juan Pérez", "juan.perez@ejemplo.com"),
+                new UsuarioResumen("2", "Ana Gómez", "agomez@ejemplo.com"),
+                new UsuarioResumen("3", "Pedro Juárez", "pedro@otro.org"))
+                // Mientras se lee la tabla se confirman un cambio de nombre y una eliminación
+                .peek(usuario -> {
+                    if (usuario.id().equals("1")) {
+                        nuevo.indexarAhora("2", "Ana Torres", "agomez@ejemplo.com");
+                        nuevo.eliminarAhora("3");
+                    }
+                }));
+
+        // When
+        nuevo.construir();
+
+        // Then
+        assertEquals(List.of("2"), nuevo.buscar("torres", 10).stream().map(ResultadoBusqueda::id).toList());
+        assertEquals("Ana Torres", nuevo.buscar("ana", 10).get(0).nombre());
+        assertTrue(nuevo.buscar("pedro", 10).isEmpty());
+        assertEquals(2, nuevo.getDocumentos());
+        // Terminada la construcción, la lectura de la tabla vuelve a aplicarse
+        nuevo.indexarDesdeTabla("3", "Pedro Juárez", "pedro@otro.org");
+        assertEquals(List.of("3"), nuevo.buscar("pedro", 10).stream().map(ResultadoBusqueda::id).toList());
+    }
+
+    @Test
+    @DisplayName("Test para descontar de la memoria estimada los textos del documento eliminado")
+    void memoriaAlEliminar() {
+        // Given
+        long antes = indice.memoriaEstimadaEnBytes();
+
+        // When
+        indice.eliminarAhora("3");
+
+        // Then
+        // Cabecera de la entrada, el Integer y los textos "3", "Pedro Juárez" y "pedro@otro.org"
+        long textos = (40 + 1) + (40 + 12) + (40 + 14);
+        assertEquals(antes - 48 - textos, indice.memoriaEstimadaEnBytes());
+    }
+
+    @Test
+    @DisplayName("Test para estimar tras compactar la misma memoria que un índice con solo los documentos vigentes")
+    void memoriaAlCompactar() {
+        // Given
+        IndiceBusquedaUsuarios compactado = new IndiceBusquedaUsuarios();
+        IndiceBusquedaUsuarios vigentes = new IndiceBusquedaUsuarios();
+        for (int i = 0; i < 1100; i++) {
+            compactado.indexarAhora("id" + i, "Usuario" + i, "usuario" + i + "@ejemplo.com");
+        }
+        for (int i = 1024; i < 1100; i++) {
+            vigentes.indexarAhora("id" + i, "Usuario" + i, "usuario" + i + "@ejemplo.com");
+        }
+
+        // When
+        for (int i = 0; i < 1024; i++) {
+            compactado.eliminarAhora("id" + i);
+        }
+
+        // Then
+        assertEquals(76, compactado.getDocumentos());
+        assertEquals(vigentes.memoriaEstimadaEnBytes(), compactado.memoriaEstimadaEnBytes());
+    }
+}
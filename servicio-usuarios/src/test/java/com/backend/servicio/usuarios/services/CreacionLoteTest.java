@@ -0,0 +1,102 @@
+package com.backend.servicio.usuarios.services;
+
+import com.backend.servicio.usuarios.cache.FiltroCorreosRegistrados;
+import com.backend.servicio.usuarios.dto.ResultadoLoteResponse;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bloques de escritura de 2 usuarios para que un lote corto ocupe varios bloques
+@SpringBootTest(properties = "usuario.lote.tamano-escritura=2")
+@ActiveProfiles("test")
+public class CreacionLoteTest {
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private FiltroCorreosRegistrados filtroCorreos;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository.deleteAll();
+        filtroCorreos.reconstruir();
+    }
+
+    @Test
+    @DisplayName("Test para crear los usuarios válidos de un lote mixto y reportar cada inválido con el mensaje de su restricción")
+    void loteMixto() {
+        // Given
+        usuarioRepository.save(usuario("Existente", "existente@test.com"));
+        filtroCorreos.agregar("existente@test.com");
+        Usuario sinTelefono = usuario("Sin teléfono", "telefono@test.com");
+        sinTelefono.getTelefonos().get(0).setNumero(" ");
+        List<Usuario> lote = Arrays.asList(
+                usuario("Valido Uno", "uno@test.com"),
+                usuario("Correo inválido", "sin-arroba.com"),
+                usuario(" ", "sin-nombre@test.com"),
+                null,
+                sinTelefono,
+                usuario("Registrado", "existente@test.com"),
+                usuario("Valido Dos", "dos@test.com"),
+                usuario("Repetido", "dos@test.com"));
+
+        // When
+        List<ResultadoLoteResponse> resultados = usuarioService.saveAll(lote);
+
+        // Then
+        assertEquals(lote.size(), resultados.size());
+        assertTrue(resultados.get(0).isCreado());
+        assertEquals("El formato del correo electrónico es inválido.", resultados.get(1).getMensaje());
+        assertEquals("El nombre es requerido", resultados.get(2).getMensaje());
+        assertEquals("El usuario es requerido", resultados.get(3).getMensaje());
+        assertEquals("El número de teléfono es requerido", resultados.get(4).getMensaje());
+        assertEquals("El correo ya está registrado", resultados.get(5).getMensaje());
+        assertTrue(resultados.get(6).isCreado());
+        assertEquals("El correo está repetido en el lote", resultados.get(7).getMensaje());
+        assertEquals(3, usuarioRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test para insertar de a uno los usuarios de un bloque que falla y reportar solo la fila rechazada")
+    void bloqueFallidoSeReintentaPorFila() {
+        // Given
+        // Registrado sin pasar por el filtro de Bloom: la consulta previa no lo ve y el INSERT del bloque falla
+        usuarioRepository.save(usuario("Concurrente", "concurrente@test.com"));
+        List<Usuario> lote = List.of(
+                usuario("Primero", "primero@test.com"),
+                usuario("Concurrente", "concurrente@test.com"),
+                usuario("Tercero", "tercero@test.com"));
+
+        // When
+        List<ResultadoLoteResponse> resultados = usuarioService.saveAll(lote);
+
+        // Then
+        assertTrue(resultados.get(0).isCreado());
+        assertFalse(resultados.get(1).isCreado());
+        assertEquals("El correo ya está registrado", resultados.get(1).getMensaje());
+        assertTrue(resultados.get(2).isCreado());
+        assertEquals(3, usuarioRepository.count());
+        assertEquals(1, usuarioService.findByCorreo("primero@test.com").telefonos().size());
+    }
+
+    private static Usuario usuario(String nombre, String correo) {
+        List<Telefono> telefonos = new ArrayList<>(List.of(new Telefono("5551234", "1", "57")));
+        return new Usuario(nombre, correo, "password123", telefonos);
+    }
+}
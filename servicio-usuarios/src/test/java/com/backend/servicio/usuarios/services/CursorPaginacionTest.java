@@ -0,0 +1,42 @@
+package com.backend.servicio.usuarios.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorPaginacionTest {
+
+    @Test
+    @DisplayName("Test para decodificar el mismo id que se codificó en el cursor")
+    void codificarYDecodificar() {
+        // Given
+        String id = "0190a1b2-c3d4-7e5f-8a9b-0c1d2e3f4a5b";
+
+        // When
+        String cursor = CursorPaginacion.codificar(id);
+
+        // Then
+        assertEquals(id, CursorPaginacion.decodificar(cursor));
+    }
+
+    @Test
+    @DisplayName("Test para rechazar un cursor en Base64 válido que no contiene un UUID")
+    void rechazarCursorSinUuid() {
+        // Given
+        String sinUuid = Base64.getUrlEncoder().withoutPadding().encodeToString("no-es-un-id".getBytes(StandardCharsets.UTF_8));
+        String abreviado = Base64.getUrlEncoder().withoutPadding().encodeToString("1-1-1-1-1".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> CursorPaginacion.decodificar(sinUuid));
+
+        // Then
+        assertEquals("El cursor de paginación es inválido.", error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> CursorPaginacion.decodificar(abreviado));
+        assertThrows(IllegalArgumentException.class, () -> CursorPaginacion.decodificar("%%%"));
+    }
+}
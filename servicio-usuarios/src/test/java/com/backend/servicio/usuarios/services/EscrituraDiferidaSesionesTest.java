@@ -0,0 +1,84 @@
+package com.backend.servicio.usuarios.services;
+
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "usuario.escritura-diferida.intervalo-ms=3600000")
+@ActiveProfiles("test")
+public class EscrituraDiferidaSesionesTest {
+
+    @Autowired
+    private EscrituraDiferidaSesiones escrituraDiferida;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository.deleteAll();
+        usuario = usuarioRepository.save(new Usuario("Juan", "juan.diferido@test.com", "password123", new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("Test para combinar las actualizaciones repetidas de un usuario y escribirlas en un solo lote")
+    void combinarYEscribirActualizaciones() {
+        // Given
+        LocalDateTime primerLogin = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime segundoLogin = primerLogin.plusMinutes(1);
+        escrituraDiferida.registrarToken(usuario.getId(), "token-renovado", primerLogin);
+        escrituraDiferida.registrarLogin(usuario.getId(), segundoLogin);
+
+        // When
+        int pendientes = escrituraDiferida.getPendientes();
+        escrituraDiferida.vaciar();
+
+        // Then
+        assertEquals(1, pendientes);
+        assertEquals(0, escrituraDiferida.getPendientes());
+        Usuario actualizado = usuarioRepository.findById(usuario.getId()).orElseThrow();
+        assertEquals(segundoLogin, actualizado.getUltimoLogin());
+        assertEquals("token-renovado", actualizado.getToken());
+        // Los datos de sesión no cambian la versión ni, por lo tanto, el ETag
+        assertEquals(usuario.getVersion(), actualizado.getVersion());
+    }
+
+    @Test
+    @DisplayName("Test para descartar el cambio y vaciar fuera del hilo de la petición cuando la cola está llena")
+    void colaLlenaVaciaEnOtroHilo() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(escrituraDiferida, "capacidad", 1);
+        Usuario otro = usuarioRepository.save(new Usuario("Ana", "ana.diferido@test.com", "password123", new ArrayList<>()));
+        LocalDateTime login = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.MILLIS);
+        try {
+            escrituraDiferida.registrarLogin(usuario.getId(), login);
+
+            // When
+            escrituraDiferida.registrarLogin(otro.getId(), login);
+
+            // Then
+            for (int i = 0; i < 100 && escrituraDiferida.getPendientes() > 0; i++) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, escrituraDiferida.getPendientes());
+            assertEquals(login, usuarioRepository.findById(usuario.getId()).orElseThrow().getUltimoLogin());
+            assertNotEquals(login, usuarioRepository.findById(otro.getId()).orElseThrow().getUltimoLogin());
+        } finally {
+            ReflectionTestUtils.setField(escrituraDiferida, "capacidad", 10000);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.backend.servicio.usuarios.services;
+
+import com.backend.servicio.usuarios.jwt.JwtAuthenticationFilter;
+import com.backend.servicio.usuarios.metrics.ContadorSentenciasSql;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bloques de 2 filas para que 5 usuarios recorran varias páginas del cursor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "usuario.exportacion.tamano-lote=2")
+@ActiveProfiles("test")
+public class ExportacionUsuariosTest {
+
+    private static final int CANTIDAD_USUARIOS = 5;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private final List<String> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository.deleteAll();
+        ids.clear();
+        for (int i = 0; i < CANTIDAD_USUARIOS; i++) {
+            List<Telefono> telefonos = new ArrayList<>(List.of(new Telefono("555000" + i, "1", "57")));
+            ids.add(usuarioRepository.save(new Usuario("Exportado " + i, "exportado" + i + "@test.com", "password123", telefonos)).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Test para exportar en orden todos los usuarios con sus teléfonos recorriendo varios bloques del cursor")
+    void exportarEnVariosBloques() throws Exception {
+        // Given
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ContadorSentenciasSql.iniciar();
+
+        // When
+        usuarioService.exportar(salida);
+        int sentencias = ContadorSentenciasSql.detener();
+
+        // Then
+        List<JsonNode> usuarios = leerLineas(salida.toString(StandardCharsets.UTF_8));
+        assertEquals(CANTIDAD_USUARIOS, usuarios.size());
+        for (int i = 0; i < CANTIDAD_USUARIOS; i++) {
+            JsonNode usuario = usuarios.get(i);
+            assertEquals(ids.get(i), usuario.get("id").asText());
+            assertEquals("555000" + i, usuario.get("telefonos").get(0).get("numero").asText());
+            assertFalse(usuario.has("contrasena"));
+            assertFalse(usuario.has("token"));
+        }
+        // El cursor de usuarios y una consulta IN de teléfonos por cada bloque de 2
+        assertEquals(1 + 3, sentencias);
+    }
+
+    @Test
+    @DisplayName("Test para descargar la exportación NDJSON por HTTP sin incluir usuarios eliminados")
+    void descargarExportacion() throws Exception {
+        // Given
+        usuarioService.delete(ids.get(0));
+        HttpHeaders cabeceras = new HttpHeaders();
+        cabeceras.setBearerAuth(JwtAuthenticationFilter.generateToken("exportado1@test.com"));
+
+        // When
+        ResponseEntity<String> respuesta = restTemplate.exchange("/api/usuarios/exportar", HttpMethod.GET,
+                new HttpEntity<>(cabeceras), String.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals("application/x-ndjson", respuesta.getHeaders().getContentType().toString());
+        List<JsonNode> usuarios = leerLineas(respuesta.getBody());
+        assertEquals(CANTIDAD_USUARIOS - 1, usuarios.size());
+        assertEquals(ids.get(1), usuarios.get(0).get("id").asText());
+    }
+
+    private List<JsonNode> leerLineas(String ndjson) throws Exception {
+        List<JsonNode> lineas = new ArrayList<>();
+        for (String linea : ndjson.split("\n")) {
+            if (!linea.isBlank()) {
+                lineas.add(objectMapper.readTree(linea));
+            }
+        }
+        return lineas;
+    }
+}
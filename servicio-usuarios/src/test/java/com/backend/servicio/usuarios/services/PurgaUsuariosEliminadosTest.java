@@ -0,0 +1,119 @@
+package com.backend.servicio.usuarios.services;
+
+import com.backend.servicio.usuarios.cache.UsuarioCache;
+import com.backend.servicio.usuarios.exceptions.UsuarioNoEncontradoException;
+import com.backend.servicio.usuarios.metrics.ContadorSentenciasSql;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.models.repository.TelefonoRepository;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"usuario.purga.intervalo-ms=3600000", "usuario.purga.tamano-lote=2", "usuario.purga.pausa-ms=0"})
+@ActiveProfiles("test")
+public class PurgaUsuariosEliminadosTest {
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private PurgaUsuariosEliminados purga;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TelefonoRepository telefonoRepository;
+
+    @Autowired
+    private UsuarioCache usuarioCache;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    private final List<Usuario> usuarios = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository.deleteAll();
+        usuarios.clear();
+        for (int i = 0; i < 3; i++) {
+            List<Telefono> telefonos = new ArrayList<>(List.of(new Telefono("444444" + i, "1", "57")));
+            usuarios.add(usuarioRepository.save(new Usuario("Juan " + i, "juan.purga" + i + "@test.com", "password123", telefonos)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test para ocultar de inmediato un usuario eliminado y conservar la fila hasta la purga")
+    void eliminarLogicamente() throws Exception {
+        // Given
+        String id = usuarios.get(0).getId();
+
+        // When
+        usuarioService.delete(id);
+
+        // Then
+        assertThrows(UsuarioNoEncontradoException.class, () -> usuarioService.findById(id));
+        assertNull(usuarioService.findJsonById(id));
+        assertTrue(usuarioService.findAll().stream().noneMatch(usuario -> usuario.id().equals(id)));
+        assertNotNull(usuarioRepository.findById(id).orElseThrow().getEliminado());
+        assertThrows(UsuarioNoEncontradoException.class, () -> usuarioService.delete(id));
+    }
+
+    @Test
+    @DisplayName("Test para purgar en lotes los usuarios eliminados y sus teléfonos")
+    void purgarEnLotes() throws Exception {
+        // Given
+        usuarioService.delete(usuarios.get(0).getId());
+        usuarioService.delete(usuarios.get(1).getId());
+        usuarioService.delete(usuarios.get(2).getId());
+
+        // When
+        int purgados = purga.purgar();
+
+        // Then
+        assertEquals(3, purgados);
+        assertEquals(0, purga.getPendientes());
+        assertEquals(0, usuarioRepository.count());
+        assertEquals(0, telefonoRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test para eliminar con un solo UPDATE aunque el usuario no esté en la cache")
+    void eliminarConUnaSentencia() throws Exception {
+        // Given
+        Usuario usuario = usuarios.get(0);
+        usuarioCache.buscarPorCorreo(usuario.getCorreo());
+        usuarioCache.invalidar(usuario.getId());
+
+        // When
+        ContadorSentenciasSql.iniciar();
+        usuarioService.delete(usuario.getId());
+        int sentencias = ContadorSentenciasSql.detener();
+
+        // Then
+        assertEquals(1, sentencias);
+        // La cache por correo sigue apuntando al id, pero el usuario ya no se encuentra
+        assertNull(usuarioCache.buscarPorCorreo(usuario.getCorreo()));
+        assertThrows(UsuarioNoEncontradoException.class, () -> usuarioService.delete("0190a000-0000-7000-8000-000000000000"));
+    }
+
+    @Test
+    @DisplayName("Test para programar las tareas en un planificador con un hilo para cada una")
+    void planificadorConUnHiloPorTarea() {
+        // Then
+        assertEquals(3, ((ThreadPoolTaskScheduler) taskScheduler).getPoolSize());
+    }
+}
@@ -0,0 +1,159 @@
+package com.backend.servicio.usuarios.services;
+
+import com.backend.servicio.usuarios.exceptions.CorreoRegistradoException;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RegistroConcurrenteTest {
+
+    private static final int REGISTROS_CONCURRENTES = 16;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test para aceptar un solo registro cuando llegan varios en paralelo con el mismo correo")
+    void registrosConcurrentesDuplicados() throws Exception {
+        // Given
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(REGISTROS_CONCURRENTES);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < REGISTROS_CONCURRENTES; i++) {
+            int numero = i;
+            resultados.add(hilos.submit(() -> {
+                salida.await();
+                try {
+                    usuarioService.save(nuevoUsuario("Juan " + numero, "juan.concurrente@test.com"));
+                    return true;
+                } catch (CorreoRegistradoException e) {
+                    return false;
+                }
+            }));
+        }
+
+        // When
+        salida.countDown();
+        int creados = 0;
+        for (Future<Boolean> resultado : resultados) {
+            if (resultado.get(30, TimeUnit.SECONDS)) {
+                creados++;
+            }
+        }
+        hilos.shutdown();
+
+        // Then
+        assertEquals(1, creados);
+        assertEquals(1, usuarioRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test para rechazar con correo en uso los cambios paralelos de varios usuarios al mismo correo")
+    void actualizacionesConcurrentesAlMismoCorreo() throws Exception {
+        // Given
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < REGISTROS_CONCURRENTES; i++) {
+            ids.add(usuarioService.save(nuevoUsuario("Juan " + i, "juan" + i + ".cambio@test.com")).getId());
+        }
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(REGISTROS_CONCURRENTES);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < REGISTROS_CONCURRENTES; i++) {
+            String id = ids.get(i);
+            boolean parcial = i % 2 == 0;
+            resultados.add(hilos.submit(() -> {
+                salida.await();
+                Usuario cambios = new Usuario();
+                cambios.setNombre("Juan");
+                cambios.setCorreo("juan.destino@test.com");
+                try {
+                    if (parcial) {
+                        usuarioService.parcialUpdate(id, cambios);
+                    } else {
+                        usuarioService.update(id, cambios);
+                    }
+                    return true;
+                } catch (CorreoRegistradoException e) {
+                    assertEquals("El correo ya está en uso por otro usuario.", e.getMessage());
+                    return false;
+                }
+            }));
+        }
+
+        // When
+        salida.countDown();
+        int actualizados = 0;
+        for (Future<Boolean> resultado : resultados) {
+            if (resultado.get(30, TimeUnit.SECONDS)) {
+                actualizados++;
+            }
+        }
+        hilos.shutdown();
+
+        // Then
+        assertEquals(1, actualizados);
+        assertTrue(usuarioRepository.findIdByCorreo("juan.destino@test.com").isPresent());
+        assertEquals(REGISTROS_CONCURRENTES, usuarioRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test para reconocer el correo duplicado por el nombre de la restricción después de la migración")
+    void restriccionConNombreDespuesDeMigrar() throws Exception {
+        // Given
+        // Base anterior: la misma restricción sin nombre, que H2 llama CONSTRAINT_xx
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("ALTER TABLE usuarios DROP CONSTRAINT uk_usuarios_correo");
+        jdbc.execute("ALTER TABLE usuarios ADD UNIQUE (correo)");
+        usuarioService.save(nuevoUsuario("Juan", "juan.migracion@test.com"));
+
+        // When
+        new ResourceDatabasePopulator(new ClassPathResource("db/migracion-restriccion-correo.sql")).execute(dataSource);
+
+        // Then
+        assertEquals(List.of("UK_USUARIOS_CORREO"), jdbc.queryForList(
+                "SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                        "WHERE TABLE_NAME = 'USUARIOS' AND CONSTRAINT_TYPE = 'UNIQUE'", String.class));
+        assertThrows(CorreoRegistradoException.class,
+                () -> usuarioService.save(nuevoUsuario("Otro Juan", "juan.migracion@test.com")));
+        assertEquals(1, usuarioRepository.count());
+    }
+
+    private static Usuario nuevoUsuario(String nombre, String correo) {
+        List<Telefono> telefonos = new ArrayList<>(List.of(new Telefono("5550000", "1", "57")));
+        return new Usuario(nombre, correo, "password123", telefonos);
+    }
+}
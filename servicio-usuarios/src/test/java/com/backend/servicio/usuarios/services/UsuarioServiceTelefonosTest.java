@@ -0,0 +1,172 @@
+package com.backend.servicio.usuarios.services;
+
+import com.backend.servicio.usuarios.dto.TelefonoVista;
+import com.backend.servicio.usuarios.dto.UsuarioVista;
+import com.backend.servicio.usuarios.metrics.ContadorSentenciasSql;
+import com.backend.servicio.usuarios.models.entity.Telefono;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.models.repository.TelefonoRepository;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UsuarioServiceTelefonosTest {
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TelefonoRepository telefonoRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository.deleteAll();
+        List<Telefono> telefonos = new ArrayList<>();
+        telefonos.add(new Telefono("1111111", "1", "57"));
+        telefonos.add(new Telefono("2222222", "1", "57"));
+        usuario = usuarioRepository.save(new Usuario("Juan", "juan.telefonos@test.com", "password123", telefonos));
+    }
+
+    @Test
+    @DisplayName("Test para actualizar los teléfonos conservando las filas que no cambian")
+    void actualizarTelefonosPorDiferencia() {
+        // Given
+        Map<String, String> idsOriginales = telefonosPorNumero();
+        Usuario cambios = new Usuario("Juan", "juan.telefonos@test.com", null,
+                new ArrayList<>(List.of(new Telefono("1111111", "1", "57"), new Telefono("3333333", "1", "57"))));
+
+        // When
+        usuarioService.update(usuario.getId(), cambios);
+
+        // Then
+        Map<String, String> actuales = telefonosPorNumero();
+        assertEquals(2, actuales.size());
+        assertEquals(idsOriginales.get("1111111"), actuales.get("1111111"));
+        assertFalse(actuales.containsKey("2222222"));
+        assertTrue(actuales.containsKey("3333333"));
+    }
+
+    @Test
+    @DisplayName("Test para no duplicar teléfonos existentes en la actualización parcial")
+    void actualizarParcialSinDuplicarTelefonos() throws Exception {
+        // Given
+        Usuario cambios = new Usuario();
+        cambios.setTelefonos(new ArrayList<>(List.of(new Telefono("2222222", "1", "57"), new Telefono("4444444", "2", "57"))));
+
+        // When
+        usuarioService.parcialUpdate(usuario.getId(), cambios);
+
+        // Then
+        Map<String, String> actuales = telefonosPorNumero();
+        assertEquals(3, actuales.size());
+        assertTrue(actuales.containsKey("4444444"));
+    }
+
+    @Test
+    @DisplayName("Test para resolver un número a su usuario y responder las repeticiones desde la cache")
+    void buscarPorTelefonoConCache() throws Exception {
+        // Given
+        Usuario cambios = new Usuario();
+        cambios.setTelefonos(new ArrayList<>(List.of(new Telefono("5551234", "2", "56"))));
+        usuarioService.parcialUpdate(usuario.getId(), cambios);
+
+        // When
+        List<UsuarioVista> encontrados = usuarioService.findByTelefono("+56", "(2)", "555-1234");
+        ContadorSentenciasSql.iniciar();
+        List<UsuarioVista> repetidos = usuarioService.findByTelefono("56", "2", "5551234");
+        int sentencias = ContadorSentenciasSql.detener();
+
+        // Then
+        assertEquals(List.of(usuario.getId()), encontrados.stream().map(UsuarioVista::id).toList());
+        assertEquals(encontrados, repetidos);
+        assertEquals(0, sentencias);
+    }
+
+    @Test
+    @DisplayName("Test para distinguir en la búsqueda por teléfono un campo vacío de uno sin dígitos")
+    void buscarPorTelefonoSinDigitos() {
+        // When
+        IllegalArgumentException vacio = assertThrows(IllegalArgumentException.class,
+                () -> usuarioService.findByTelefono("57", " ", "5551234"));
+        IllegalArgumentException sinDigitos = assertThrows(IllegalArgumentException.class,
+                () -> usuarioService.findByTelefono("57", "1", "sin-numero"));
+
+        // Then
+        assertEquals("El código de país, el código de ciudad y el número son requeridos.", vacio.getMessage());
+        assertEquals("El código de país, el código de ciudad y el número deben contener dígitos.", sinDigitos.getMessage());
+    }
+
+    @Test
+    @DisplayName("Test para guardar el teléfono con solo sus dígitos sin duplicarlo al recibirlo con otro formato")
+    void guardarTelefonoNormalizado() throws Exception {
+        // Given
+        Usuario cambios = new Usuario();
+        cambios.setTelefonos(new ArrayList<>(List.of(new Telefono("555-9876", "(4)", "+57"))));
+        usuarioService.parcialUpdate(usuario.getId(), cambios);
+        Usuario mismoTelefono = new Usuario();
+        mismoTelefono.setTelefonos(new ArrayList<>(List.of(new Telefono("5559876", "4", "57"))));
+
+        // When
+        usuarioService.parcialUpdate(usuario.getId(), mismoTelefono);
+
+        // Then
+        TelefonoVista guardado = telefonos().stream()
+                .filter(telefono -> telefono.numero().equals("5559876")).findFirst().orElseThrow();
+        assertEquals("4", guardado.codigoCiudad());
+        assertEquals("57", guardado.codigoPais());
+        assertEquals(3, telefonosPorNumero().size());
+        assertEquals(1, usuarioService.findByTelefono("57", "4", "5559876").size());
+    }
+
+    @Test
+    @DisplayName("Test para encontrar por número un teléfono guardado con formato después de ejecutar la migración")
+    void migracionTelefonosNormalizados() {
+        // Given
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("UPDATE telefonos SET numero = '111-7777', codigo_ciudad = '(1)', codigo_pais = '+57' WHERE numero = '1111111'");
+
+        // When
+        new ResourceDatabasePopulator(new ClassPathResource("db/migracion-telefonos-normalizados.sql")).execute(dataSource);
+
+        // Then
+        assertEquals(List.of("57|1|1117777"),
+                jdbc.queryForList("SELECT codigo_pais || '|' || codigo_ciudad || '|' || numero FROM telefonos " +
+                        "WHERE numero LIKE '111%7777'", String.class));
+        assertEquals(List.of(usuario.getId()),
+                usuarioService.findByTelefono("57", "1", "1117777").stream().map(UsuarioVista::id).toList());
+    }
+
+    private List<TelefonoVista> telefonos() {
+        return telefonoRepository.findVistasByUsuarioIds(List.of(usuario.getId()));
+    }
+
+    private Map<String, String> telefonosPorNumero() {
+        return telefonos().stream().collect(Collectors.toMap(TelefonoVista::numero, TelefonoVista::id));
+    }
+}
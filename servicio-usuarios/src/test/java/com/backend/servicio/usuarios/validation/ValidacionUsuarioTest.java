@@ -0,0 +1,154 @@
+package com.backend.servicio.usuarios.validation;
+
+import com.backend.servicio.usuarios.jwt.JwtAuthenticationFilter;
+import com.backend.servicio.usuarios.models.entity.Usuario;
+import com.backend.servicio.usuarios.models.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ValidacionUsuarioTest {
+
+    private static final String CORREO = "validacion@test.com";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String id;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository.deleteAll();
+        id = usuarioRepository.save(new Usuario("Validacion", CORREO, "password123", new ArrayList<>())).getId();
+    }
+
+    @Test
+    @DisplayName("Test para rechazar con 400 y el mensaje de @CorreoValido un registro con correo inválido")
+    void registroConCorreoInvalido() throws Exception {
+        // Given
+        String usuario = "{\"nombre\":\"Nuevo\",\"correo\":\"sin-arroba.com\",\"contrasena\":\"password123\"}";
+
+        // When
+        ResponseEntity<String> respuesta = enviar(HttpMethod.POST, "/api/usuarios", usuario, null);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, respuesta.getStatusCode());
+        assertEquals("El formato del correo electrónico es inválido.", mensaje(respuesta));
+        assertEquals(1, usuarioRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test para rechazar con 400 y el mensaje de @ContrasenaValida un registro con contraseña inválida")
+    void registroConContrasenaInvalida() throws Exception {
+        // Given
+        String usuario = "{\"nombre\":\"Nuevo\",\"correo\":\"nuevo@test.com\",\"contrasena\":\"solo-letras\"}";
+
+        // When
+        ResponseEntity<String> respuesta = enviar(HttpMethod.POST, "/api/usuarios", usuario, null);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, respuesta.getStatusCode());
+        assertEquals("La contraseña debe tener al menos 6 caracteres y contener letras y números.", mensaje(respuesta));
+    }
+
+    @Test
+    @DisplayName("Test para rechazar un teléfono sin dígitos con su propio mensaje y responder el guardado con solo dígitos")
+    void registroConTelefonoSinDigitos() throws Exception {
+        // Given
+        String sinDigitos = "{\"nombre\":\"Nuevo\",\"correo\":\"nuevo@test.com\",\"contrasena\":\"password123\"," +
+                "\"telefonos\":[{\"numero\":\"sin-numero\",\"codigoCiudad\":\"1\",\"codigoPais\":\"57\"}]}";
+        String enBlanco = sinDigitos.replace("sin-numero", " ");
+        String conFormato = sinDigitos.replace("sin-numero", "123-4567").replace("\"57\"", "\"+57\"");
+
+        // When
+        ResponseEntity<String> rechazado = enviar(HttpMethod.POST, "/api/usuarios", sinDigitos, null);
+        ResponseEntity<String> requerido = enviar(HttpMethod.POST, "/api/usuarios", enBlanco, null);
+        ResponseEntity<String> creado = enviar(HttpMethod.POST, "/api/usuarios", conFormato, null);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, rechazado.getStatusCode());
+        assertEquals("El número de teléfono debe contener dígitos", mensaje(rechazado));
+        assertEquals(HttpStatus.BAD_REQUEST, requerido.getStatusCode());
+        assertEquals("El número de teléfono es requerido", mensaje(requerido));
+        assertEquals(HttpStatus.CREATED, creado.getStatusCode());
+        ResponseEntity<String> consultado = enviar(HttpMethod.GET,
+                "/api/usuarios/" + objectMapper.readTree(creado.getBody()).get("id").asText(), null,
+                JwtAuthenticationFilter.generateToken("nuevo@test.com"));
+        JsonNode telefono = objectMapper.readTree(consultado.getBody()).get("telefonos").get(0);
+        assertEquals("1234567", telefono.get("numero").asText());
+        assertEquals("57", telefono.get("codigoPais").asText());
+    }
+
+    @Test
+    @DisplayName("Test para aceptar un PATCH parcial y validar solo los campos que trae")
+    void actualizacionParcialValidaCamposPresentes() throws Exception {
+        // Given
+        String token = JwtAuthenticationFilter.generateToken(CORREO);
+
+        // When
+        ResponseEntity<String> soloNombre = enviar(HttpMethod.PATCH, "/api/usuarios/" + id, "{\"nombre\":\"Otro\"}", token);
+        ResponseEntity<String> correoInvalido = enviar(HttpMethod.PATCH, "/api/usuarios/" + id, "{\"correo\":\"invalido\"}", token);
+
+        // Then
+        assertEquals(HttpStatus.OK, soloNombre.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, correoInvalido.getStatusCode());
+        assertEquals("El formato del correo electrónico es inválido.", mensaje(correoInvalido));
+        assertEquals(CORREO, usuarioRepository.findById(id).orElseThrow().getCorreo());
+    }
+
+    @Test
+    @DisplayName("Test para permitir un PUT sin contraseña y rechazarlo si la contraseña es inválida")
+    void actualizacionSinContrasena() throws Exception {
+        // Given
+        String token = JwtAuthenticationFilter.generateToken(CORREO);
+
+        // When
+        ResponseEntity<String> sinContrasena = enviar(HttpMethod.PUT, "/api/usuarios/" + id,
+                "{\"nombre\":\"Otro\",\"correo\":\"" + CORREO + "\"}", token);
+        ResponseEntity<String> contrasenaInvalida = enviar(HttpMethod.PUT, "/api/usuarios/" + id,
+                "{\"nombre\":\"Otro\",\"correo\":\"" + CORREO + "\",\"contrasena\":\"123\"}", token);
+
+        // Then
+        assertEquals(HttpStatus.OK, sinContrasena.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, contrasenaInvalida.getStatusCode());
+        assertEquals("La contraseña debe tener al menos 6 caracteres y contener letras y números.", mensaje(contrasenaInvalida));
+    }
+
+    private ResponseEntity<String> enviar(HttpMethod metodo, String url, String cuerpo, String token) {
+        HttpHeaders cabeceras = new HttpHeaders();
+        cabeceras.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) {
+            cabeceras.setBearerAuth(token);
+        }
+        return restTemplate.exchange(url, metodo, new HttpEntity<>(cuerpo, cabeceras), String.class);
+    }
+
+    private String mensaje(ResponseEntity<String> respuesta) throws Exception {
+        JsonNode cuerpo = objectMapper.readTree(respuesta.getBody());
+        return cuerpo.get("mensaje").asText();
+    }
+}
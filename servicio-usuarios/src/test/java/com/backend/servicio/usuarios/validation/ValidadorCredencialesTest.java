@@ -0,0 +1,55 @@
+package com.backend.servicio.usuarios.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidadorCredencialesTest {
+
+    private static final String PATRON_CONTRASENA = "^(?=.*[A-Za-z])(?=.*\\d)[A-Za-z\\d]{6,}$";
+
+    private final ValidadorCredenciales validador = new ValidadorCredenciales(PATRON_CONTRASENA);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "juan@ejemplo.com", "juan.perez+test@sub.ejemplo.co", "a@b.cl", "a_b%c-d@x-y.com", "a@.b.com",
+            "sinarroba.com", "@ejemplo.com", "juan@ejemplo", "juan@ejemplo.c", "juan@ejemplo.c0m", "juan@@ejemplo.com",
+            "juan@ejem plo.com", "juan@.com", "juan@ejemplo.com\n", "juan@ejemplo.", "ju@n@ejemplo.com", "ñandu@ejemplo.com", ""
+    })
+    @DisplayName("Test para validar correos igual que la expresión regular")
+    void correoEquivalenteARegex(String correo) {
+        boolean esperado = Pattern.compile(ValidadorCredenciales.EMAIL_REGEX).matcher(correo).matches();
+        assertEquals(esperado, validador.esCorreoValido(correo), correo);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Password123", "abc123", "123abc", "abcdef", "123456", "abc12", "abc 123", "abc-123", "ÁBC123", "abc123\n", ""
+    })
+    @DisplayName("Test para validar contraseñas igual que la expresión regular")
+    void contrasenaEquivalenteARegex(String contrasena) {
+        boolean esperado = Pattern.matches(PATRON_CONTRASENA, contrasena);
+        assertEquals(esperado, validador.esContrasenaValida(contrasena), contrasena);
+    }
+
+    @Test
+    @DisplayName("Test para validar contraseñas con un patrón personalizado")
+    void contrasenaConPatronPersonalizado() {
+        ValidadorCredenciales personalizado = new ValidadorCredenciales("^[A-Z].{7,}$");
+
+        assertTrue(personalizado.esContrasenaValida("Mayuscula1"));
+        assertFalse(personalizado.esContrasenaValida("minuscula1"));
+    }
+
+    @Test
+    @DisplayName("Test para rechazar valores nulos")
+    void rechazaNulos() {
+        assertFalse(validador.esCorreoValido(null));
+        assertFalse(validador.esContrasenaValida(null));
+    }
+}